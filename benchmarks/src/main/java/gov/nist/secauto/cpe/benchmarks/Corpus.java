@@ -0,0 +1,192 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.benchmarks;
+
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.naming.CPENameBinder;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a synthetic, NVD-like corpus of CPE names for use by the benchmarks. The corpus is
+ * generated from a fixed seed, so every run measures the same names.
+ * <p>
+ * The names include quoted punctuation, logical values, packed URI editions, and patterns with
+ * leading and trailing wildcards.
+ */
+final class Corpus {
+  /**
+   * The number of names in each corpus.
+   */
+  static final int SIZE = 1024;
+
+  private static final long SEED = 0x5EC0A7L;
+
+  private static final String[] VENDORS = { "microsoft", "adobe", "apache", "oracle", "google", "mozilla", "cisco",
+      "hp", "ibm", "redhat", "foo\\$bar", "at\\&t", "node\\.js_foundation" };
+  private static final String[] PRODUCTS = { "internet_explorer", "windows_10", "acrobat_reader", "http_server",
+      "java_se", "chrome", "firefox", "ios", "insight_diagnostics", "enterprise_linux", "c\\+\\+builder", "node\\.js",
+      "exchange_server" };
+  private static final String[] UPDATES = { "beta", "sp1", "sp2", "rc1", "update_3" };
+  private static final String[] LANGUAGES = { "en-us", "de", "ja", "fr" };
+  private static final String[] SW_EDITIONS = { "online", "enterprise", "professional" };
+  private static final String[] TARGET_SWS = { "win2003", "android", "iphone_os", "linux" };
+  private static final String[] TARGET_HWS = { "x64", "x86", "arm64" };
+
+  private Corpus() {
+    // disable construction
+  }
+
+  /**
+   * Generates concrete names, like those found in a CPE dictionary or software inventory.
+   * 
+   * @return the names
+   */
+  static List<WellFormedName> names() {
+    Random random = new Random(SEED);
+    List<WellFormedName> retval = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      retval.add(newName(pick(random, "a", "a", "a", "o", "h"), pick(random, VENDORS), pick(random, PRODUCTS),
+          version(random), random.nextInt(3) == 0 ? pick(random, UPDATES) : LogicalValue.NA, LogicalValue.ANY,
+          random.nextInt(4) == 0 ? quote(pick(random, LANGUAGES)) : LogicalValue.ANY,
+          random.nextInt(5) == 0 ? pick(random, SW_EDITIONS) : LogicalValue.ANY,
+          random.nextInt(4) == 0 ? pick(random, TARGET_SWS) : LogicalValue.ANY,
+          random.nextInt(4) == 0 ? pick(random, TARGET_HWS) : LogicalValue.ANY));
+    }
+    return retval;
+  }
+
+  /**
+   * Generates patterns, like those found in vulnerable software configurations.
+   * 
+   * @return the patterns
+   */
+  static List<WellFormedName> patterns() {
+    Random random = new Random(~SEED);
+    List<WellFormedName> retval = new ArrayList<>(SIZE);
+    for (int i = 0; i < SIZE; i++) {
+      Object version;
+      switch (random.nextInt(5)) {
+      case 0:
+        version = LogicalValue.ANY;
+        break;
+      case 1:
+        // trailing wildcard
+        version = random.nextInt(10) + "\\.*";
+        break;
+      case 2:
+        // trailing single character wildcard
+        version = random.nextInt(10) + "\\." + random.nextInt(10) + "\\.?";
+        break;
+      default:
+        version = version(random);
+        break;
+      }
+      Object product;
+      switch (random.nextInt(8)) {
+      case 0:
+        product = LogicalValue.ANY;
+        break;
+      case 1:
+        // leading wildcard
+        String suffix = pick(random, PRODUCTS);
+        product = "*" + suffix.substring(suffix.length() / 2);
+        break;
+      default:
+        product = pick(random, PRODUCTS);
+        break;
+      }
+      retval.add(newName("a", pick(random, VENDORS), product, version, LogicalValue.ANY, LogicalValue.ANY,
+          LogicalValue.ANY, LogicalValue.ANY, random.nextInt(6) == 0 ? pick(random, TARGET_SWS) : LogicalValue.ANY,
+          LogicalValue.ANY));
+    }
+    return retval;
+  }
+
+  /**
+   * Binds each of the provided names to a formatted string.
+   * 
+   * @param names
+   *          the names to bind
+   * @return the formatted strings
+   */
+  static String[] formattedStrings(List<WellFormedName> names) {
+    String[] retval = new String[names.size()];
+    for (int i = 0; i < retval.length; i++) {
+      retval[i] = CPENameBinder.bindToFS(names.get(i));
+    }
+    return retval;
+  }
+
+  /**
+   * Binds each of the provided names to a URI.
+   * 
+   * @param names
+   *          the names to bind
+   * @return the URIs
+   */
+  static String[] uris(List<WellFormedName> names) {
+    String[] retval = new String[names.size()];
+    for (int i = 0; i < retval.length; i++) {
+      retval[i] = CPENameBinder.bindToURI(names.get(i));
+    }
+    return retval;
+  }
+
+  private static String version(Random random) {
+    StringBuilder version = new StringBuilder().append(random.nextInt(20));
+    int parts = random.nextInt(4);
+    for (int i = 0; i < parts; i++) {
+      version.append("\\.").append(random.nextInt(i == parts - 1 ? 10000 : 10));
+    }
+    return version.toString();
+  }
+
+  private static String quote(String value) {
+    return value.replace("-", "\\-");
+  }
+
+  @SafeVarargs
+  private static <T> T pick(Random random, T... values) {
+    return values[random.nextInt(values.length)];
+  }
+
+  private static WellFormedName newName(Object part, Object vendor, Object product, Object version, Object update,
+      Object edition, Object language, Object swEdition, Object targetSoftware, Object targetHardware) {
+    try {
+      return new WellFormedName(part, vendor, product, version, update, edition, language, swEdition, targetSoftware,
+          targetHardware, LogicalValue.ANY);
+    } catch (ParseException ex) {
+      // the generated values are valid, so this should never happen
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.benchmarks;
+
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
+import gov.nist.secauto.cpe.matching.CPENameMatcher;
+import gov.nist.secauto.cpe.matching.CompiledCpePattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures matching of CPE names. Each operation compares a single pattern from the corpus to a
+ * single name from the corpus.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MatchingBenchmark {
+  private WellFormedName[] patterns;
+  private CompiledCpePattern[] compiledPatterns;
+  private WellFormedName[] names;
+
+  /**
+   * Generates the corpus.
+   */
+  @Setup
+  public void setup() {
+    List<WellFormedName> patternCorpus = Corpus.patterns();
+    patterns = patternCorpus.toArray(new WellFormedName[patternCorpus.size()]);
+    compiledPatterns = new CompiledCpePattern[patterns.length];
+    for (int i = 0; i < patterns.length; i++) {
+      compiledPatterns[i] = new CompiledCpePattern(patterns[i]);
+    }
+    List<WellFormedName> nameCorpus = Corpus.names();
+    names = nameCorpus.toArray(new WellFormedName[nameCorpus.size()]);
+  }
+
+  /**
+   * Measures {@link CPENameMatcher#compareWFNs(WellFormedNameView, WellFormedNameView)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void compareWFNs(Blackhole blackhole) {
+    for (int i = 0; i < Corpus.SIZE; i++) {
+      blackhole.consume(CPENameMatcher.compareWFNs(patterns[i], names[i]));
+    }
+  }
+
+  /**
+   * Measures {@link CPENameMatcher#isSuperset(WellFormedNameView, WellFormedNameView)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void isSuperset(Blackhole blackhole) {
+    for (int i = 0; i < Corpus.SIZE; i++) {
+      blackhole.consume(CPENameMatcher.isSuperset(patterns[i], names[i]));
+    }
+  }
+
+  /**
+   * Measures {@link CPENameMatcher#isDisjoint(WellFormedNameView, WellFormedNameView)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void isDisjoint(Blackhole blackhole) {
+    for (int i = 0; i < Corpus.SIZE; i++) {
+      blackhole.consume(CPENameMatcher.isDisjoint(patterns[i], names[i]));
+    }
+  }
+
+  /**
+   * Measures {@link CompiledCpePattern#relationTo(WellFormedNameView)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void compiledRelationTo(Blackhole blackhole) {
+    for (int i = 0; i < Corpus.SIZE; i++) {
+      blackhole.consume(compiledPatterns[i].relationTo(names[i]));
+    }
+  }
+}
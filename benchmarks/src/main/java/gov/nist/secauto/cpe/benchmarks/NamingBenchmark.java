@@ -0,0 +1,233 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.benchmarks;
+
+import gov.nist.secauto.cpe.common.CompactWellFormedName;
+import gov.nist.secauto.cpe.common.CpeFingerprint;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
+import gov.nist.secauto.cpe.naming.CPENameBinder;
+import gov.nist.secauto.cpe.naming.CPENameUnbinder;
+import gov.nist.secauto.cpe.naming.util.CpeBinaryReader;
+import gov.nist.secauto.cpe.naming.util.CpeBinaryWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures binding and unbinding of CPE names. Each operation processes a single name from the
+ * corpus.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NamingBenchmark {
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+  private WellFormedName[] names;
+  private String[] formattedStrings;
+  private String[] uris;
+  private byte[] snapshot;
+
+  /**
+   * Generates the corpus.
+   * 
+   * @throws IOException
+   *           if the corpus cannot be written in binary form
+   */
+  @Setup
+  public void setup() throws IOException {
+    List<WellFormedName> corpus = Corpus.names();
+    names = corpus.toArray(new WellFormedName[corpus.size()]);
+    formattedStrings = Corpus.formattedStrings(corpus);
+    uris = Corpus.uris(corpus);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (CpeBinaryWriter writer = new CpeBinaryWriter(out)) {
+      for (WellFormedName wfn : corpus) {
+        writer.write(wfn);
+      }
+    }
+    snapshot = out.toByteArray();
+  }
+
+  /**
+   * Measures {@link CPENameUnbinder#unbindFS(String)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   * @throws ParseException
+   *           if a name in the corpus is invalid
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void unbindFS(Blackhole blackhole) throws ParseException {
+    for (String fs : formattedStrings) {
+      blackhole.consume(CPENameUnbinder.unbindFS(fs));
+    }
+  }
+
+  /**
+   * Measures {@link CPENameUnbinder#unbindURI(String)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   * @throws ParseException
+   *           if a name in the corpus is invalid
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void unbindURI(Blackhole blackhole) throws ParseException {
+    for (String uri : uris) {
+      blackhole.consume(CPENameUnbinder.unbindURI(uri));
+    }
+  }
+
+  /**
+   * Measures loading names with {@link CpeBinaryReader#read()}, for comparison with
+   * {@link #unbindFS(Blackhole)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   * @throws IOException
+   *           if the binary form of the corpus is invalid
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void readBinary(Blackhole blackhole) throws IOException {
+    try (CpeBinaryReader reader = new CpeBinaryReader(new ByteArrayInputStream(snapshot))) {
+      WellFormedName wfn;
+      while ((wfn = reader.read()) != null) {
+        blackhole.consume(wfn);
+      }
+    }
+  }
+
+  /**
+   * Measures loading names with {@link CpeBinaryReader#readCompact()}, for comparison with
+   * {@link #readBinary(Blackhole)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   * @throws IOException
+   *           if the binary form of the corpus is invalid
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void readBinaryCompact(Blackhole blackhole) throws IOException {
+    try (CpeBinaryReader reader = new CpeBinaryReader(new ByteArrayInputStream(snapshot))) {
+      CompactWellFormedName wfn;
+      while ((wfn = reader.readCompact()) != null) {
+        blackhole.consume(wfn);
+      }
+    }
+  }
+
+  /**
+   * Measures {@link CPENameBinder#bindToFS(WellFormedNameView)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void bindToFS(Blackhole blackhole) {
+    for (WellFormedName wfn : names) {
+      blackhole.consume(CPENameBinder.bindToFS(wfn));
+    }
+  }
+
+  /**
+   * Measures {@link CpeFingerprint#of(WellFormedNameView)}, for comparison with hashing the result of
+   * {@link #bindToFS(Blackhole)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void fingerprint(Blackhole blackhole) {
+    for (WellFormedName wfn : names) {
+      blackhole.consume(CpeFingerprint.of(wfn));
+    }
+  }
+
+  /**
+   * Measures {@link CPENameBinder#bindToURI(WellFormedNameView)}.
+   * 
+   * @param blackhole
+   *          consumes the results
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void bindToURI(Blackhole blackhole) {
+    for (WellFormedName wfn : names) {
+      blackhole.consume(CPENameBinder.bindToURI(wfn));
+    }
+  }
+
+  /**
+   * Measures {@link WellFormedName#set(Attribute, Object)} by copying every attribute of a name.
+   * 
+   * @param blackhole
+   *          consumes the results
+   * @throws ParseException
+   *           if a name in the corpus is invalid
+   */
+  @Benchmark
+  @OperationsPerInvocation(Corpus.SIZE)
+  public void set(Blackhole blackhole) throws ParseException {
+    for (WellFormedName wfn : names) {
+      WellFormedName copy = new WellFormedName();
+      for (Attribute attribute : ATTRIBUTES) {
+        copy.set(attribute, wfn.get(attribute));
+      }
+      blackhole.consume(copy);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link CharSequence} view of a region of a {@link ByteBuffer} holding ASCII text. This allows a
+ * CPE name held in a buffer, such as a line of a memory-mapped file, to be parsed without first
+ * copying it into a {@link String}.
+ * <p>
+ * Each byte is mapped to the character with the same value. Bytes outside of the ASCII range map to
+ * characters that are not printable ASCII, and are therefore rejected by the CPE parsers.
+ * <p>
+ * The view reads the buffer using absolute indexes, so the position and limit of the buffer are
+ * neither used nor changed after construction. The view reflects changes made to the underlying
+ * bytes.
+ */
+public final class AsciiCharSequence implements CharSequence {
+  private final ByteBuffer buffer;
+  private final int offset;
+  private final int length;
+
+  /**
+   * Constructs a view of the remaining bytes of the provided buffer, from its position to its
+   * limit.
+   * 
+   * @param buffer
+   *          the buffer holding the ASCII text
+   */
+  public AsciiCharSequence(ByteBuffer buffer) {
+    this(buffer, buffer.position(), buffer.remaining());
+  }
+
+  /**
+   * Constructs a view of a region of the provided buffer.
+   * 
+   * @param buffer
+   *          the buffer holding the ASCII text
+   * @param offset
+   *          the absolute index of the first byte of the region
+   * @param length
+   *          the number of bytes in the region
+   * @throws IndexOutOfBoundsException
+   *           if the region is not within the limit of the buffer
+   */
+  public AsciiCharSequence(ByteBuffer buffer, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > buffer.limit() - length) {
+      throw new IndexOutOfBoundsException(
+          "Region [" + offset + ", " + offset + " + " + length + ") is outside of limit " + buffer.limit());
+    }
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", length: " + length);
+    }
+    return (char) (buffer.get(offset + index) & 0xFF);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || start > end || end > length) {
+      throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") is outside of length " + length);
+    }
+    return new AsciiCharSequence(buffer, offset + start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) (buffer.get(offset + i) & 0xFF);
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,155 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+/**
+ * Classifies attribute values by the kind of value they hold, so names can be compared without
+ * inspecting each value. The state of every attribute of a name is packed into a single int, using
+ * {@link #BITS_PER_STATE} bits per attribute, with the state of each attribute shifted left by
+ * {@link #shift(Attribute)} bits.
+ * 
+ * @see WellFormedNameView#getAttributeStates()
+ */
+public final class AttributeStates {
+  /**
+   * The state of an attribute holding {@link LogicalValue#ANY}.
+   */
+  public static final int ANY = 0;
+  /**
+   * The state of an attribute holding {@link LogicalValue#NA}.
+   */
+  public static final int NA = 1;
+  /**
+   * The state of an attribute holding a string containing no '*', '?' or '\' characters. Such a value
+   * is a plain literal that only matches another value that is equal to it, ignoring case.
+   */
+  public static final int SIMPLE = 2;
+  /**
+   * The state of an attribute holding any other value, which may contain quoted characters or
+   * wildcards.
+   */
+  public static final int COMPLEX = 3;
+
+  /**
+   * The number of bits used to record the state of each attribute.
+   */
+  public static final int BITS_PER_STATE = 2;
+  /**
+   * A mask selecting the state of a single attribute, once shifted into the lowest bits.
+   */
+  public static final int STATE_MASK = (1 << BITS_PER_STATE) - 1;
+
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+  private AttributeStates() {
+    // disable construction
+  }
+
+  /**
+   * Classifies an attribute value.
+   * 
+   * @param value
+   *          the attribute value
+   * @return the state of the value
+   */
+  public static int of(Object value) {
+    if (LogicalValue.ANY.equals(value)) {
+      return ANY;
+    }
+    if (LogicalValue.NA.equals(value)) {
+      return NA;
+    }
+    if (!(value instanceof String)) {
+      return COMPLEX;
+    }
+    String str = (String) value;
+    for (int idx = 0, length = str.length(); idx < length; idx++) {
+      char ch = str.charAt(idx);
+      if (ch == '*' || ch == '?' || ch == '\\') {
+        return COMPLEX;
+      }
+    }
+    return SIMPLE;
+  }
+
+  /**
+   * Computes the packed states of every attribute of a name.
+   * 
+   * @param wfn
+   *          the name to classify
+   * @return the packed states
+   */
+  public static int of(WellFormedNameView wfn) {
+    int retval = 0;
+    for (Attribute attribute : ATTRIBUTES) {
+      retval |= of(wfn.get(attribute)) << shift(attribute);
+    }
+    return retval;
+  }
+
+  /**
+   * Determines the position of the state of an attribute in the packed states.
+   * 
+   * @param attribute
+   *          the attribute
+   * @return the number of bits the state of the attribute is shifted by
+   */
+  public static int shift(Attribute attribute) {
+    return attribute.ordinal() * BITS_PER_STATE;
+  }
+
+  /**
+   * Gets the state of an attribute from packed states.
+   * 
+   * @param states
+   *          the packed states
+   * @param attribute
+   *          the attribute
+   * @return the state of the attribute
+   */
+  public static int get(int states, Attribute attribute) {
+    return (states >>> shift(attribute)) & STATE_MASK;
+  }
+
+  /**
+   * Replaces the state of an attribute in packed states.
+   * 
+   * @param states
+   *          the packed states
+   * @param attribute
+   *          the attribute
+   * @param state
+   *          the new state of the attribute
+   * @return the updated packed states
+   */
+  public static int with(int states, Attribute attribute, int state) {
+    int shift = shift(attribute);
+    return (states & ~(STATE_MASK << shift)) | (state << shift);
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import java.util.Arrays;
+
+/**
+ * An immutable Well Formed Name that holds its attribute values in a fixed array. Unlike
+ * {@link WellFormedName}, instances are compared by value, so a name can be used as a key in a hash
+ * based collection or shared between threads without being copied.
+ * <p>
+ * Two names are equal if each pair of attribute values is equal. Values are compared as given, so
+ * names that differ only in the case of a value are not equal, even though they match.
+ */
+public final class CompactWellFormedName implements WellFormedNameView, Comparable<CompactWellFormedName> {
+  private static final WellFormedName.Attribute[] ATTRIBUTES = WellFormedName.Attribute.values();
+
+  private final Object[] values;
+  private final int states;
+  // cached hash code, computed on first use
+  private int hash;
+
+  private CompactWellFormedName(Object[] values, int states) {
+    this.values = values;
+    this.states = states;
+  }
+
+  /**
+   * Creates an immutable copy of the provided name. An existing {@link CompactWellFormedName} is
+   * returned as-is.
+   * 
+   * @param wfn
+   *          the name to copy
+   * @return the immutable name
+   */
+  public static CompactWellFormedName of(WellFormedNameView wfn) {
+    if (wfn instanceof CompactWellFormedName) {
+      return (CompactWellFormedName) wfn;
+    }
+    Object[] values = new Object[ATTRIBUTES.length];
+    for (WellFormedName.Attribute attribute : ATTRIBUTES) {
+      values[attribute.ordinal()] = wfn.get(attribute);
+    }
+    return new CompactWellFormedName(values, wfn.getAttributeStates());
+  }
+
+  /**
+   * Creates a name holding the provided values, without copying them.
+   * 
+   * @param values
+   *          the values, indexed by attribute ordinal, which must not be modified afterwards
+   * @param states
+   *          the packed states of the values, as defined by {@link AttributeStates}
+   * @return the immutable name
+   */
+  static CompactWellFormedName wrap(Object[] values, int states) {
+    return new CompactWellFormedName(values, states);
+  }
+
+  @Override
+  public Object get(WellFormedName.Attribute attribute) {
+    return values[attribute.ordinal()];
+  }
+
+  @Override
+  public int getAttributeStates() {
+    return states;
+  }
+
+  /**
+   * Creates a mutable {@link WellFormedName} holding the values of this name. The values have already
+   * been validated, so they are not checked again.
+   * 
+   * @return a new WellFormedName
+   */
+  public WellFormedName toWellFormedName() {
+    WellFormedName.Builder retval = WellFormedName.builder();
+    for (WellFormedName.Attribute attribute : ATTRIBUTES) {
+      retval.set(attribute, values[attribute.ordinal()]);
+    }
+    return retval.buildTrusted();
+  }
+
+  /**
+   * Compares this name to another, in the order defined by {@link WellFormedNameComparator}. This
+   * ordering is consistent with {@link #equals(Object)}.
+   * 
+   * @param other
+   *          the name to compare to
+   * @return a negative integer, zero, or a positive integer as this name is ordered before, equal to,
+   *         or after the other name
+   */
+  @Override
+  public int compareTo(CompactWellFormedName other) {
+    return WellFormedNameComparator.INSTANCE.compare(this, other);
+  }
+
+  @Override
+  public int hashCode() {
+    int retval = hash;
+    if (retval == 0) {
+      retval = Arrays.hashCode(values);
+      hash = retval;
+    }
+    return retval;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CompactWellFormedName)) {
+      return false;
+    }
+    CompactWellFormedName other = (CompactWellFormedName) obj;
+    return hashCode() == other.hashCode() && Arrays.equals(values, other.values);
+  }
+
+  /**
+   * Get the string representation of this name, in the same form as
+   * {@link WellFormedName#toString()}.
+   * 
+   * @return the string representation of the name
+   */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("wfn:[");
+    for (WellFormedName.Attribute attribute : ATTRIBUTES) {
+      if (attribute.ordinal() > 0) {
+        sb.append(", ");
+      }
+      sb.append(attribute.name().toLowerCase()).append('=');
+      Object value = values[attribute.ordinal()];
+      if (value instanceof LogicalValue) {
+        sb.append(value);
+      } else {
+        sb.append('"').append(value).append('"');
+      }
+    }
+    return sb.append(']').toString();
+  }
+}
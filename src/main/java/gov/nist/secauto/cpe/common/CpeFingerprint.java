@@ -0,0 +1,151 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+/**
+ * Computes a 64-bit fingerprint of a Well Formed Name, which can be used to detect duplicate names or
+ * to divide names between partitions without binding them.
+ * <p>
+ * The fingerprint is computed from the normalized attribute values, so names that differ only in the
+ * case of their values, or in the quoting of characters that do not need to be quoted, have the same
+ * fingerprint. Each attribute is hashed in declaration order using the 64-bit FNV-1a algorithm, and
+ * the result is mixed so that every bit depends on every input character. The algorithm is fixed, so
+ * a fingerprint is the same in every process and release, and can be stored or exchanged.
+ * <p>
+ * As with any hash, distinct names may share a fingerprint. A matching fingerprint only indicates that
+ * two names are likely to be duplicates.
+ */
+public final class CpeFingerprint {
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  // Tags preceding each attribute value. These cannot occur in a valid value, so the boundary
+  // between values is never ambiguous.
+  private static final char ANY_TAG = '\u0001';
+  private static final char NA_TAG = '\u0002';
+  private static final char STRING_TAG = '\u0003';
+
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+  private CpeFingerprint() {
+    // disable construction
+  }
+
+  /**
+   * Computes the fingerprint of the provided name.
+   * 
+   * @param wfn
+   *          the name to fingerprint
+   * @return the fingerprint
+   */
+  public static long of(WellFormedNameView wfn) {
+    long hash = FNV_OFFSET_BASIS;
+    for (Attribute attribute : ATTRIBUTES) {
+      Object value = wfn.get(attribute);
+      if (LogicalValue.ANY.equals(value)) {
+        hash = update(hash, ANY_TAG);
+      } else if (LogicalValue.NA.equals(value)) {
+        hash = update(hash, NA_TAG);
+      } else {
+        hash = update(hash, STRING_TAG);
+        String str = (String) value;
+        int end = str.length() << 1;
+        for (int position = 0; position < end;) {
+          long next = Utilities.nextNormalized(str, position);
+          hash = update(hash, (char) next);
+          position = (int) (next >>> 16);
+        }
+      }
+    }
+    return mix(hash);
+  }
+
+  /**
+   * Assigns a fingerprint to one of a number of partitions, using the jump consistent hash algorithm
+   * by Lamping and Veach. Fingerprints are spread evenly between the partitions. When the number of
+   * partitions grows from {@code n} to {@code n + 1}, each fingerprint either stays in its partition
+   * or moves to the new partition {@code n}, so only about {@code 1 / (n + 1)} of the fingerprints
+   * move.
+   * 
+   * @param fingerprint
+   *          the fingerprint to assign
+   * @param partitions
+   *          the number of partitions, which must be positive
+   * @return the partition, from 0 to {@code partitions - 1}
+   * @throws IllegalArgumentException
+   *           if the number of partitions is not positive
+   * @see <a href="https://arxiv.org/abs/1406.2294">A Fast, Minimal Memory, Consistent Hash
+   *      Algorithm</a>
+   */
+  public static int partition(long fingerprint, int partitions) {
+    if (partitions <= 0) {
+      throw new IllegalArgumentException("The number of partitions must be positive: " + partitions);
+    }
+    long key = fingerprint;
+    long bucket = -1;
+    long next = 0;
+    while (next < partitions) {
+      bucket = next;
+      key = key * 2862933555777941757L + 1;
+      next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+    }
+    return (int) bucket;
+  }
+
+  /**
+   * Assigns a name to one of a number of partitions, as described by {@link #partition(long, int)}.
+   * 
+   * @param wfn
+   *          the name to assign
+   * @param partitions
+   *          the number of partitions, which must be positive
+   * @return the partition, from 0 to {@code partitions - 1}
+   * @throws IllegalArgumentException
+   *           if the number of partitions is not positive
+   */
+  public static int partition(WellFormedNameView wfn, int partitions) {
+    return partition(of(wfn), partitions);
+  }
+
+  private static long update(long hash, char ch) {
+    return (hash ^ ch) * FNV_PRIME;
+  }
+
+  /**
+   * Mixes the bits of a hash, using the finalizer of the 64-bit MurmurHash3 algorithm.
+   */
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
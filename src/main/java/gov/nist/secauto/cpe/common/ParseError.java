@@ -0,0 +1,167 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+/**
+ * Identifies the reason a CPE name, or one of its attribute values, could not be parsed. Errors are
+ * reported without raising an exception by the {@code tryUnbind} methods of
+ * {@link gov.nist.secauto.cpe.naming.CPENameUnbinder} and by
+ * {@link WellFormedName#trySet(WellFormedName.Attribute, Object)}.
+ * 
+ * @see ParseResult
+ */
+public enum ParseError {
+  /**
+   * A formatted string does not start with "cpe:2.3:".
+   */
+  FS_INVALID_PREFIX("Error: Formatted String must start with \"cpe:2.3\". Given: ", true),
+  /**
+   * A formatted string contains an empty component.
+   */
+  FS_EMPTY_COMPONENT("Error parsing formatted string.  Found empty component", false),
+  /**
+   * A formatted string contains more than 11 components.
+   */
+  FS_EXTRA_COMPONENTS("Error parsing formatted string.  Found ", true),
+  /**
+   * A formatted string contains fewer than 11 components.
+   */
+  FS_MISSING_COMPONENTS("Error parsing formatted string. Missing ", false),
+  /**
+   * A component of a formatted string contains an unquoted '*' that is not its first or last
+   * character.
+   */
+  FS_EMBEDDED_ASTERISK("Error! cannot have unquoted * embedded in formatted string.", false),
+  /**
+   * A component of a formatted string contains an unquoted '?' that is not part of a leading or
+   * trailing sequence.
+   */
+  FS_EMBEDDED_QUESTION_MARK("Error! cannot have unquoted ? embedded in formatted string.", false),
+  /**
+   * A formatted string ends with a backslash that does not quote a character.
+   */
+  FS_TRAILING_BACKSLASH("Error! cannot have a trailing unquoted \\ in formatted string.", false),
+  /**
+   * A URI does not start with "cpe:/".
+   */
+  URI_INVALID_PREFIX("Error: URI must start with 'cpe:/'.  Given: ", true),
+  /**
+   * A URI contains more than 7 components.
+   */
+  URI_EXTRA_COMPONENTS("Error parsing URI.  Found ", true),
+  /**
+   * A component of a URI contains an encoded '?' or '*' in a position where it is not allowed.
+   */
+  URI_MISPLACED_SPECIAL_CHARACTER("Error decoding string", false),
+  /**
+   * A component of a URI contains a percent-encoded form that is not legal.
+   */
+  URI_UNKNOWN_FORM("Unknown form: ", true),
+  /**
+   * The packed edition component of a URI does not contain the five '~'-separated values.
+   */
+  URI_MALFORMED_PACKED_EDITION("Error unpacking edition. Expected five '~'-separated values in: ", true),
+  /**
+   * The part attribute is set to a logical value.
+   */
+  LOGICAL_PART("Error! part component cannot be a logical value", false),
+  /**
+   * A value contains a character that is not printable ASCII.
+   */
+  NON_PRINTABLE_CHARACTER("Error! encountered non printable character in: ", true),
+  /**
+   * A value contains whitespace.
+   */
+  WHITESPACE("Error! component cannot contain whitespace: ", true),
+  /**
+   * A value starts or ends with more than one '*'.
+   */
+  CONSECUTIVE_ASTERISKS("Error! component cannot contain more than one * in sequence: ", true),
+  /**
+   * A value contains punctuation that is not quoted.
+   */
+  UNQUOTED_PUNCTUATION("Error! component cannot contain unquoted punctuation: ", true),
+  /**
+   * A value contains an unquoted '*' that is not its first or last character.
+   */
+  EMBEDDED_ASTERISK("Error! component cannot contain embedded *: ", true),
+  /**
+   * A value contains an unquoted '?' that is not part of a leading or trailing sequence.
+   */
+  EMBEDDED_QUESTION_MARK("Error! component cannot contain embedded ?: ", true),
+  /**
+   * A value consists of a single '*'.
+   */
+  SINGLE_ASTERISK("Error! component cannot be a single *: ", true),
+  /**
+   * A value consists of a single '-'.
+   */
+  SINGLE_HYPHEN("Error! component cannot be quoted hyphen: ", true),
+  /**
+   * The part attribute is not one of 'a', 'o' or 'h'.
+   */
+  INVALID_PART("Error! part component must be one of the following: 'a', 'o', 'h': ", true);
+
+  private final String message;
+  private final boolean hasDetail;
+
+  ParseError(String message, boolean hasDetail) {
+    this.message = message;
+    this.hasDetail = hasDetail;
+  }
+
+  /**
+   * Formats the message describing an occurrence of this error. The messages are the same as those
+   * of the {@link java.text.ParseException} raised for the error by the throwing methods.
+   * 
+   * @param detail
+   *          the text the error refers to
+   * @param count
+   *          the number of extra or missing components, for errors that report them
+   * @return the message
+   */
+  String formatMessage(String detail, int count) {
+    StringBuilder retval = new StringBuilder(message);
+    switch (this) {
+    case FS_EXTRA_COMPONENTS:
+      retval.append(count).append(" extra component").append(count > 1 ? "s" : "").append(" in: ");
+      break;
+    case FS_MISSING_COMPONENTS:
+      retval.append(count).append(" component").append(count > 1 ? "s" : "");
+      break;
+    case URI_EXTRA_COMPONENTS:
+      retval.append(count).append(" extra components in: ");
+      break;
+    default:
+      break;
+    }
+    if (hasDetail) {
+      retval.append(detail);
+    }
+    return retval.toString();
+  }
+}
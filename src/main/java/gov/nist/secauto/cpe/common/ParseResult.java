@@ -0,0 +1,174 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import java.text.ParseException;
+
+/**
+ * The outcome of parsing a CPE name without raising an exception. A successful result holds the
+ * unbound {@link WellFormedName}. A failed result identifies the {@link ParseError} and the offset in
+ * the name at which it was detected.
+ * <p>
+ * Failures are reported this way by the {@code tryUnbind} methods of
+ * {@link gov.nist.secauto.cpe.naming.CPENameUnbinder}, which avoids the cost of creating an exception
+ * when invalid names are expected to be common. Instances of this class are immutable.
+ */
+public final class ParseResult {
+  private final WellFormedName wellFormedName;
+  private final ParseError error;
+  private final int offset;
+  private final String detail;
+  private final int count;
+
+  private ParseResult(WellFormedName wellFormedName, ParseError error, int offset, String detail, int count) {
+    this.wellFormedName = wellFormedName;
+    this.error = error;
+    this.offset = offset;
+    this.detail = detail;
+    this.count = count;
+  }
+
+  /**
+   * Creates a successful result.
+   * 
+   * @param wellFormedName
+   *          the parsed name
+   * @return the result
+   */
+  public static ParseResult success(WellFormedName wellFormedName) {
+    return new ParseResult(wellFormedName, null, -1, null, 0);
+  }
+
+  /**
+   * Creates a failed result.
+   * 
+   * @param error
+   *          the reason the name could not be parsed
+   * @param offset
+   *          the offset in the name at which the error was detected
+   * @param detail
+   *          the text the error refers to
+   * @return the result
+   */
+  public static ParseResult failure(ParseError error, int offset, String detail) {
+    return failure(error, offset, detail, 0);
+  }
+
+  /**
+   * Creates a failed result for an error that reports a number of extra or missing components.
+   * 
+   * @param error
+   *          the reason the name could not be parsed
+   * @param offset
+   *          the offset in the name at which the error was detected
+   * @param detail
+   *          the text the error refers to
+   * @param count
+   *          the number of extra or missing components
+   * @return the result
+   */
+  public static ParseResult failure(ParseError error, int offset, String detail, int count) {
+    return new ParseResult(null, error, offset, detail, count);
+  }
+
+  /**
+   * Determines if the name was parsed successfully.
+   * 
+   * @return {@code true} if the name was parsed, or {@code false} otherwise
+   */
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  /**
+   * Retrieves the parsed name.
+   * 
+   * @return the parsed name, or {@code null} if the name could not be parsed
+   */
+  public WellFormedName getWellFormedName() {
+    return wellFormedName;
+  }
+
+  /**
+   * Retrieves the reason the name could not be parsed.
+   * 
+   * @return the error, or {@code null} if the name was parsed
+   */
+  public ParseError getError() {
+    return error;
+  }
+
+  /**
+   * Retrieves the offset in the name at which the error was detected. An error in an attribute value
+   * is reported at the offset of the component holding the value, unless a more precise offset is
+   * known.
+   * 
+   * @return the offset, or -1 if the name was parsed
+   */
+  public int getOffset() {
+    return offset;
+  }
+
+  /**
+   * Retrieves the text the error refers to. This is the whole name for errors in the structure of the
+   * name, the offending attribute value for errors in a value, or the offending percent-encoded form.
+   * 
+   * @return the detail, or {@code null} if the name was parsed or the error has no detail
+   */
+  public String getDetail() {
+    return detail;
+  }
+
+  /**
+   * Retrieves a message describing the error, which is the same as the message of the
+   * {@link ParseException} raised by the corresponding throwing method.
+   * 
+   * @return the message, or {@code null} if the name was parsed
+   */
+  public String getMessage() {
+    return error == null ? null : error.formatMessage(detail, count);
+  }
+
+  /**
+   * Retrieves the parsed name, raising the error as an exception if the name could not be parsed.
+   * 
+   * @return the parsed name
+   * @throws ParseException
+   *           if the name could not be parsed
+   */
+  public WellFormedName getOrThrow() throws ParseException {
+    if (error != null) {
+      throw new ParseException(getMessage(), 0);
+    }
+    return wellFormedName;
+  }
+
+  @Override
+  public String toString() {
+    return error == null ? "success: " + wellFormedName : error + " at " + offset + ": " + getMessage();
+  }
+}
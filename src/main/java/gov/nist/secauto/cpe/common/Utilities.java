@@ -206,6 +206,27 @@ public class Utilities {
     return result;
   }
 
+  /**
+   * Determines if a character sequence starts with the provided prefix, ignoring case.
+   * 
+   * @param str
+   *          the character sequence to check
+   * @param prefix
+   *          the lowercase prefix to look for
+   * @return {@code true} if the sequence starts with the prefix, or {@code false} otherwise
+   */
+  public static boolean startsWithIgnoreCase(CharSequence str, String prefix) {
+    if (str.length() < prefix.length()) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length(); i++) {
+      if (Character.toLowerCase(str.charAt(i)) != prefix.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Searches a string for the first unescaped colon and returns the index of that colon.
    * 
@@ -260,6 +281,45 @@ public class Utilities {
     return new StringBuffer(str).reverse().toString();
   }
 
+  /**
+   * Reads the next character of the normalized form of an attribute value, without creating the
+   * normalized form. The normalized form is lowercase, and omits each backslash quoting an alphanumeric
+   * or underscore character, as quoting such a character has no effect. Values that differ only in
+   * case or in such quoting have the same normalized form.
+   * <p>
+   * A position packs the index of the next character of the value, shifted left by one, with a lowest
+   * bit that is set if that character is quoted by the preceding backslash. Reading starts at position
+   * 0, and ends once {@code position >>> 1} reaches the length of the value.
+   * 
+   * @param str
+   *          a valid attribute value
+   * @param position
+   *          the position to read from, which must not be at the end of the value
+   * @return the normalized character in the lowest 16 bits, and the position following it in the
+   *         remaining bits
+   */
+  static long nextNormalized(String str, int position) {
+    int idx = position >>> 1;
+    int quoted = 0;
+    char ch = str.charAt(idx++);
+    if ((position & 1) == 0 && ch == '\\' && idx < str.length()) {
+      if (isWordCharacter(str.charAt(idx))) {
+        ch = str.charAt(idx++);
+      } else {
+        quoted = 1;
+      }
+    }
+    if (ch >= 'A' && ch <= 'Z') {
+      // values are printable ASCII, so only ASCII letters are converted
+      ch = (char) (ch + ('a' - 'A'));
+    }
+    return ((long) ((idx << 1) | quoted) << 16) | ch;
+  }
+
+  private static boolean isWordCharacter(char ch) {
+    return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+  }
+
   /**
    * This function is not part of the reference implementation pseudo code found in the CPE 2.3
    * specification. It enforces two rules in the specification: 1) a CPE URI must start with the
@@ -272,20 +332,40 @@ public class Utilities {
    *           if one of the rules for a CPE URI is violated
    */
   public static void validateURI(String str) throws ParseException {
+    ParseResult invalid = tryValidateURI(str);
+    if (invalid != null) {
+      invalid.getOrThrow();
+    }
+  }
+
+  /**
+   * Checks the rules enforced by {@link #validateURI(String)}, reporting a violation without raising
+   * an exception.
+   * 
+   * @param str
+   *          the potential CPE URI to validate
+   * @return {@code null} if the URI is valid, or a failed result describing the violated rule
+   */
+  public static ParseResult tryValidateURI(CharSequence str) {
     // make sure uri starts with cpe:/
-    if (!str.toLowerCase().startsWith("cpe:/")) {
-      throw new ParseException("Error: URI must start with 'cpe:/'.  Given: " + str, 0);
+    if (!startsWithIgnoreCase(str, "cpe:/")) {
+      return ParseResult.failure(ParseError.URI_INVALID_PREFIX, 0, str.toString());
     }
     // make sure uri doesn't contain more than 7 colons
     int count = 0;
+    int extraIndex = -1;
     for (int i = 0; i != str.length(); i++) {
       if (str.charAt(i) == ':') {
         count++;
+        if (count == 8) {
+          extraIndex = i;
+        }
       }
     }
     if (count > 7) {
-      throw new ParseException("Error parsing URI.  Found " + (count - 7) + " extra components in: " + str, 0);
+      return ParseResult.failure(ParseError.URI_EXTRA_COMPONENTS, extraIndex, str.toString(), count - 7);
     }
+    return null;
   }
 
   /**
@@ -301,37 +381,60 @@ public class Utilities {
    *           if one of the rules for a CPE formatted string is violated
    */
   public static void validateFS(String str) throws ParseException {
-    if (!str.toLowerCase().startsWith("cpe:2.3:")) {
-      throw new ParseException("Error: Formatted String must start with \"cpe:2.3\". Given: " + str, 0);
+    validateFS((CharSequence) str);
+  }
+
+  /**
+   * Validates a CPE formatted string held in a {@link CharSequence}, such as a view of a buffer,
+   * without copying it. The rules are the same as for {@link #validateFS(String)}.
+   * 
+   * @param str
+   *          the potential CPE formatted string to validate
+   * @throws ParseException
+   *           if one of the rules for a CPE formatted string is violated
+   */
+  public static void validateFS(CharSequence str) throws ParseException {
+    ParseResult invalid = tryValidateFS(str);
+    if (invalid != null) {
+      invalid.getOrThrow();
+    }
+  }
+
+  /**
+   * Checks the rules enforced by {@link #validateFS(String)}, reporting a violation without raising
+   * an exception.
+   * 
+   * @param str
+   *          the potential CPE formatted string to validate
+   * @return {@code null} if the formatted string is valid, or a failed result describing the violated
+   *         rule
+   */
+  public static ParseResult tryValidateFS(CharSequence str) {
+    if (!startsWithIgnoreCase(str, "cpe:2.3:")) {
+      return ParseResult.failure(ParseError.FS_INVALID_PREFIX, 0, str.toString());
     }
     // make sure fs contains exactly 12 unquoted colons
     int count = 0;
+    int extraIndex = -1;
     for (int i = 0; i != str.length(); i++) {
       if (str.charAt(i) == ':') {
         if (str.charAt(i - 1) != '\\') {
           count++;
+          if (count == 13) {
+            extraIndex = i;
+          }
         }
         if ((i + 1) < str.length() && str.charAt(i + 1) == ':') {
-          throw new ParseException("Error parsing formatted string.  Found empty component", 0);
+          return ParseResult.failure(ParseError.FS_EMPTY_COMPONENT, i + 1, null);
         }
       }
     }
     if (count > 12) {
-      int extra = (count - 12);
-      StringBuffer msg = new StringBuffer("Error parsing formatted string.  Found " + extra + " extra component");
-      if (extra > 1) {
-        msg.append("s");
-      }
-      msg.append(" in: " + str);
-      throw new ParseException(msg.toString(), 0);
+      return ParseResult.failure(ParseError.FS_EXTRA_COMPONENTS, extraIndex, str.toString(), count - 12);
     }
     if (count < 12) {
-      int missing = (12 - count);
-      StringBuffer msg = new StringBuffer("Error parsing formatted string. Missing " + missing + " component");
-      if (missing > 1) {
-        msg.append("s");
-      }
-      throw new ParseException(msg.toString(), 0);
+      return ParseResult.failure(ParseError.FS_MISSING_COMPONENTS, str.length(), null, 12 - count);
     }
+    return null;
   }
 }
@@ -0,0 +1,126 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, thread-safe table of canonical attribute values. Interning the values of many
+ * {@link WellFormedName} instances allows identical values, such as a vendor or product shared by
+ * thousands of dictionary entries, to be held by a single {@link String} instance.
+ * <p>
+ * The table is a fixed number of slots indexed by the hash code of a value. A value that collides
+ * with a different value already held in its slot replaces it, so memory use never exceeds the
+ * capacity of the table. Interning is therefore a best-effort operation: the returned value is
+ * always equal to the provided value, but is only guaranteed to be the same instance returned by a
+ * previous call if that value has not since been evicted.
+ * <p>
+ * A single instance may be shared by any number of threads without external synchronization.
+ */
+public final class ValueInterner {
+  /**
+   * The number of slots used by {@link #ValueInterner()}.
+   */
+  public static final int DEFAULT_CAPACITY = 1 << 16;
+
+  private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+  private final AtomicReferenceArray<String> slots;
+  private final int mask;
+
+  /**
+   * Constructs a new interner with the {@link #DEFAULT_CAPACITY default capacity}.
+   */
+  public ValueInterner() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a new interner that holds at most the provided number of values. The capacity is
+   * rounded up to the next power of two.
+   * 
+   * @param capacity
+   *          the maximum number of values to hold
+   * @throws IllegalArgumentException
+   *           if the capacity is not positive or is larger than 2^30
+   */
+  public ValueInterner(int capacity) {
+    if (capacity <= 0 || capacity > MAXIMUM_CAPACITY) {
+      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+  }
+
+  /**
+   * Retrieves the maximum number of values held by this interner.
+   * 
+   * @return the capacity
+   */
+  public int getCapacity() {
+    return slots.length();
+  }
+
+  /**
+   * Returns the canonical instance of the provided value.
+   * 
+   * @param value
+   *          the value to intern
+   * @return a string equal to the provided value, which is the previously interned instance if one
+   *         is held, or the provided value otherwise
+   */
+  public String intern(String value) {
+    int hash = value.hashCode();
+    int index = (hash ^ (hash >>> 16)) & mask;
+    String existing = slots.get(index);
+    if (existing != null && existing.equals(value)) {
+      return existing;
+    }
+    // a racing thread may overwrite this value; the table is best-effort, so either outcome is correct
+    slots.lazySet(index, value);
+    return value;
+  }
+
+  /**
+   * Returns the canonical instance of the provided attribute value. {@link LogicalValue} instances
+   * are already canonical and are returned as-is.
+   * 
+   * @param value
+   *          a {@link String} or {@link LogicalValue} to intern
+   * @return the canonical instance of the value
+   */
+  public Object intern(Object value) {
+    if (value instanceof String) {
+      return intern((String) value);
+    }
+    return value;
+  }
+}
@@ -64,7 +64,7 @@ import java.util.Map;
  * @author <a href="mailto:jkraunelis@mitre.org">Joshua Kraunelis</a>
  * @author <a href="mailto:david.waltermire@nist.gov">David Waltermire</a>
  */
-public class WellFormedName {
+public class WellFormedName implements WellFormedNameView {
   public enum Attribute {
 
     PART,
@@ -80,26 +80,48 @@ public class WellFormedName {
     OTHER;
   }
 
+  // Punctuation characters that must be quoted when they appear in a component, indexed by character.
+  private static final boolean[] PUNCTUATION = new boolean[128];
+
+  static {
+    for (char ch : "!\"#$%&'()+,./:;<=>@[]^`{|}~-".toCharArray()) {
+      PUNCTUATION[ch] = true;
+    }
+  }
+
   // Underlying wfn representation.
   // String -> String.
   private Map<Attribute, Object> wfn = new EnumMap<Attribute, Object>(Attribute.class);
+  // The state of each attribute value, kept up to date as values are set. Every attribute starts
+  // as ANY, which is state 0.
+  private int states;
 
   /**
    * Constructs a new WellFormedName object, with all components set to the default value "ANY".
-   * 
-   * @throws RuntimeException
-   *           if this implementation is incorrect
    */
   public WellFormedName() {
     for (Attribute a : Attribute.values()) {
       // don't set part to ANY
       if (!Attribute.PART.equals(a)) {
-        try {
-          set(a, LogicalValue.ANY);
-        } catch (ParseException ex) {
-          // the assignment of ANY is a valid value, so this should never happen
-          throw new RuntimeException(ex);
-        }
+        this.wfn.put(a, LogicalValue.ANY);
+      }
+    }
+  }
+
+  /**
+   * Constructs a new WellFormedName object from the values collected by a {@link Builder}, which must
+   * already be valid. Attributes the builder has no value for are set to the default value "ANY".
+   * 
+   * @param builder
+   *          the builder holding the values
+   */
+  private WellFormedName(Builder builder) {
+    for (Attribute a : Attribute.values()) {
+      if (builder.isSet(a)) {
+        setTrusted(a, builder.values[a.ordinal()]);
+      } else if (!Attribute.PART.equals(a)) {
+        // don't set part to ANY
+        this.wfn.put(a, LogicalValue.ANY);
       }
     }
   }
@@ -157,6 +179,7 @@ public class WellFormedName {
    * @return the String value of the given component, or default value {@link LogicalValue#ANY} if the
    *         component does not exist
    */
+  @Override
   public Object get(Attribute attribute) {
     if (this.wfn.containsKey(attribute)) {
       return this.wfn.get(attribute);
@@ -176,85 +199,192 @@ public class WellFormedName {
    *           if the provided value is invalid
    */
   public final void set(Attribute attribute, Object value) throws ParseException {
+    ParseError error = trySet(attribute, value);
+    if (error != null) {
+      throw new ParseException(error.formatMessage(value instanceof String ? (String) value : null, 0), 0);
+    }
+  }
+
+  /**
+   * Sets the given attribute to value, if the attribute is in the list of permissible components and
+   * the value is valid. This method performs the same checks as {@link #set(Attribute, Object)}, but
+   * reports an invalid value by returning the error instead of raising an exception.
+   * 
+   * @param attribute
+   *          enumerated value representing the component to set
+   * @param value
+   *          Object representing the value of the given component
+   * @return {@code null} if the attribute was set, or the reason the value is invalid otherwise, in
+   *         which case the attribute is unchanged
+   */
+  public final ParseError trySet(Attribute attribute, Object value) {
+    ParseError error = validate(attribute, value);
+    if (error == null) {
+      setTrusted(attribute, value);
+    }
+    return error;
+  }
+
+  /**
+   * Checks if a value is valid for the given attribute, performing the same checks as
+   * {@link #set(Attribute, Object)} without setting the value. A {@code null} or blank value is valid,
+   * and is set as the default value {@link LogicalValue#ANY}.
+   * 
+   * @param attribute
+   *          enumerated value representing the component the value is for
+   * @param value
+   *          Object representing the value of the given component
+   * @return {@code null} if the value is valid, or the reason the value is invalid otherwise
+   */
+  public static ParseError validate(Attribute attribute, Object value) {
     // check to see if we're setting a LogicalValue ANY or NA
     if (value instanceof LogicalValue) {
       // don't allow logical values in part component
       if (Attribute.PART.equals(attribute)) {
-        throw new ParseException("Error! part component cannot be a logical value", 0);
+        return ParseError.LOGICAL_PART;
       }
-    } else if (value == null || ((String) value).equals("")) {
-      // if value is null or blank, set attribute to default logical ANY
-      value = LogicalValue.ANY;
-    } else {
+    } else if (value != null && !((String) value).equals("")) {
       String svalue = (String) value;
-      // Reg exs
-      // check for printable characters - no control characters
-      if (!svalue.matches("\\p{Print}*")) {
-        throw new ParseException("Error! encountered non printable character in: " + svalue, 0);
+      int length = svalue.length();
+      // Scan the characters once, recording each kind of violation. The violations are then reported
+      // in a fixed order, so the error does not depend on where in the value each one occurs.
+      boolean whitespace = false;
+      boolean punctuation = false;
+      for (int i = 0; i < length; i++) {
+        char ch = svalue.charAt(i);
+        // check for printable characters - no control characters
+        if (ch < ' ' || ch > '~') {
+          return ParseError.NON_PRINTABLE_CHARACTER;
+        }
+        if (ch == ' ') {
+          whitespace = true;
+        } else if (PUNCTUATION[ch] && (i == 0 || svalue.charAt(i - 1) != '\\')) {
+          punctuation = true;
+        }
       }
       // svalue has whitespace
-      if (svalue.matches(".*\\s+.*")) {
-        throw new ParseException("Error! component cannot contain whitespace: " + svalue, 0);
+      if (whitespace) {
+        return ParseError.WHITESPACE;
       }
       // svalue has more than one unquoted star
-      if (svalue.matches("\\*{2,}.*") || svalue.matches(".*\\*{2,}")) {
-        throw new ParseException("Error! component cannot contain more than one * in sequence: " + svalue, 0);
+      if (svalue.startsWith("**") || svalue.endsWith("**")) {
+        return ParseError.CONSECUTIVE_ASTERISKS;
       }
       // svalue has unquoted punctuation embedded
-      if (svalue.matches(
-          ".*(?<!\\\\)[\\!\\\"\\#\\$\\%\\&\\\'\\(\\)\\+\\,\\.\\/\\:\\;\\<\\=\\>\\@\\[\\]\\^\\`\\{\\|\\}\\~\\-].*")) {
-        throw new ParseException("Error! component cannot contain unquoted punctuation: " + svalue, 0);
+      if (punctuation) {
+        return ParseError.UNQUOTED_PUNCTUATION;
       }
       // svalue has an unquoted *
-      if (svalue.matches(".+(?<!\\\\)[\\*].+")) {
-        throw new ParseException("Error! component cannot contain embedded *: " + svalue, 0);
+      if (containsEmbedded(svalue, '*', 0, length)) {
+        return ParseError.EMBEDDED_ASTERISK;
       }
       // svalue has embedded unquoted ?
-      // this will catch a single unquoted ?, so make sure we deal with that
-      // if
-      // (svalue.matches("\\?*[\\p{Graph}&&[^\\?]]*(?<!\\\\)[\\?][\\p{Graph}&&[^\\?]]*\\?*"))
-      // {
-      if (svalue.contains("?")) {
-        if (svalue.equals("?")) {
-          // single ? is valid
-          value = svalue;
-        } else {
-          // remove leading and trailing ?s
-          StringBuffer buf = new StringBuffer(svalue);
-          while (buf.indexOf("?") == 0) {
-            // remove all leading ?'s
-            buf.deleteCharAt(0);
-          }
-          buf = buf.reverse();
-          while (buf.indexOf("?") == 0) {
-            // remove all trailing ?'s (string has been reversed)
-            buf.deleteCharAt(0);
-          }
-          // back to normal
-          buf = buf.reverse();
-          // after leading and trailing ?s are removed, check if value
-          // contains unquoted ?s
-          if (buf.toString().matches(".+(?<!\\\\)[\\?].+")) {
-            throw new ParseException("Error! component cannot contain embedded ?: " + svalue, 0);
-          }
+      // a single ? is valid
+      if (length > 1 && svalue.indexOf('?') != -1) {
+        // skip leading and trailing ?s
+        int begin = 0;
+        while (begin < length && svalue.charAt(begin) == '?') {
+          begin++;
+        }
+        int end = length;
+        while (end > begin && svalue.charAt(end - 1) == '?') {
+          end--;
+        }
+        // check if the remaining value contains unquoted ?s
+        if (containsEmbedded(svalue, '?', begin, end)) {
+          return ParseError.EMBEDDED_QUESTION_MARK;
         }
       }
       // single asterisk is not allowed
       if (svalue.equals("*")) {
-        throw new ParseException("Error! component cannot be a single *: " + svalue, 0);
+        return ParseError.SINGLE_ASTERISK;
       }
       // quoted hyphen not allowed by itself
       if (svalue.equals("-")) {
-        throw new ParseException("Error! component cannot be quoted hyphen: " + svalue, 0);
+        return ParseError.SINGLE_HYPHEN;
       }
       // part must be a, o, or h
       if (Attribute.PART.equals(attribute) && !svalue.equals("a") && !svalue.equals("o") && !svalue.equals("h")) {
-        throw new ParseException("Error! part component must be one of the following: 'a', 'o', 'h': " + svalue, 0);
+        return ParseError.INVALID_PART;
       }
-      value = svalue;
     }
     // should be good to go
+    return null;
+  }
+
+  /**
+   * Sets the given attribute to value without validating it. This avoids the cost of validation when
+   * the value is known to be valid, for example because it was unbound from a name that has already
+   * been validated. A {@code null} or blank value is set to the default value {@link LogicalValue#ANY}.
+   * <p>
+   * The caller is responsible for ensuring the value is valid. Matching and binding a name holding an
+   * invalid value produces undefined results.
+   * 
+   * @param attribute
+   *          enumerated value representing the component to set
+   * @param value
+   *          a valid {@link String} or {@link LogicalValue} value for the given component
+   * @see #set(Attribute, Object)
+   */
+  public final void setTrusted(Attribute attribute, Object value) {
+    if (value == null || "".equals(value)) {
+      value = LogicalValue.ANY;
+    }
     this.wfn.put(attribute, value);
+    this.states = AttributeStates.with(states, attribute, AttributeStates.of(value));
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The states are updated as each value is set, so this method does not inspect the values.
+   */
+  @Override
+  public int getAttributeStates() {
+    return states;
+  }
+
+  /**
+   * Creates an immutable copy of this name, which can be shared or used as a key in a hash based
+   * collection.
+   * 
+   * @return an immutable copy of this name
+   */
+  public CompactWellFormedName toCompact() {
+    return CompactWellFormedName.of(this);
+  }
+
+  /**
+   * Determines if a region of a string contains an unquoted occurrence of a character that is neither
+   * its first nor its last character.
+   * 
+   * @param str
+   *          the string to search
+   * @param chr
+   *          the character to search for
+   * @param begin
+   *          the index of the first character of the region
+   * @param end
+   *          the index following the last character of the region
+   * @return {@code true} if an embedded, unquoted occurrence was found, or {@code false} otherwise
+   */
+  private static boolean containsEmbedded(String str, char chr, int begin, int end) {
+    for (int i = begin + 1; i < end - 1; i++) {
+      if (str.charAt(i) == chr && str.charAt(i - 1) != '\\') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Creates a new builder, which collects attribute values so that a {@link WellFormedName} can be
+   * constructed with each value stored and validated only once.
+   * 
+   * @return a new builder with no attribute values
+   */
+  public static Builder builder() {
+    return new Builder();
   }
 
   /**
@@ -284,4 +414,99 @@ public class WellFormedName {
 
     return sb.toString();
   }
+
+  /**
+   * Collects the attribute values of a {@link WellFormedName} before it is constructed. Unlike
+   * constructing a WellFormedName and then calling {@link WellFormedName#set(Attribute, Object)} for
+   * each attribute, the defaults are not stored only to be replaced, and each value is checked once
+   * by {@link #build()}. Attributes without a value are set to the default value "ANY". A builder may
+   * be reused, as each name built is independent of it. This class is not thread-safe.
+   */
+  public static final class Builder {
+    private final Object[] values = new Object[Attribute.values().length];
+    // one bit per attribute ordinal, set when the attribute has a value
+    private int assigned;
+
+    private Builder() {
+      // use WellFormedName.builder()
+    }
+
+    /**
+     * Sets the value of the given attribute. The value is not checked until the name is built.
+     * 
+     * @param attribute
+     *          enumerated value representing the component to set
+     * @param value
+     *          Object representing the value of the given component
+     * @return this builder
+     */
+    public Builder set(Attribute attribute, Object value) {
+      values[attribute.ordinal()] = value;
+      assigned |= 1 << attribute.ordinal();
+      return this;
+    }
+
+    private boolean isSet(Attribute attribute) {
+      return (assigned & (1 << attribute.ordinal())) != 0;
+    }
+
+    /**
+     * Constructs a WellFormedName from the collected values, checking each value as described by
+     * {@link WellFormedName#set(Attribute, Object)}.
+     * 
+     * @return a new WellFormedName
+     * @throws ParseException
+     *           if any of the collected values are invalid
+     */
+    public WellFormedName build() throws ParseException {
+      for (Attribute a : Attribute.values()) {
+        if (isSet(a)) {
+          Object value = values[a.ordinal()];
+          ParseError error = validate(a, value);
+          if (error != null) {
+            throw new ParseException(error.formatMessage(value instanceof String ? (String) value : null, 0), 0);
+          }
+        }
+      }
+      return new WellFormedName(this);
+    }
+
+    /**
+     * Constructs a WellFormedName from collected values that are known to be valid, without checking
+     * them. The caller is responsible for ensuring the values are valid, as described by
+     * {@link WellFormedName#setTrusted(Attribute, Object)}.
+     * 
+     * @return a new WellFormedName
+     */
+    public WellFormedName buildTrusted() {
+      return new WellFormedName(this);
+    }
+
+    /**
+     * Constructs an immutable name from collected values that are known to be valid, without checking
+     * them and without constructing a WellFormedName. The values are treated as described by
+     * {@link #buildTrusted()}.
+     * 
+     * @return a new CompactWellFormedName
+     */
+    public CompactWellFormedName buildCompactTrusted() {
+      Object[] retval = new Object[values.length];
+      int states = 0;
+      for (Attribute a : Attribute.values()) {
+        Object value;
+        if (isSet(a)) {
+          value = values[a.ordinal()];
+          if (value == null || "".equals(value)) {
+            value = LogicalValue.ANY;
+          }
+          states = AttributeStates.with(states, a, AttributeStates.of(value));
+        } else {
+          // an unset part reads as ANY, as it does from get(Attribute)
+          value = LogicalValue.ANY;
+        }
+        retval[a.ordinal()] = value;
+      }
+      return CompactWellFormedName.wrap(retval, states);
+    }
+  }
 }
@@ -0,0 +1,193 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import java.io.Serializable;
+import java.util.Comparator;
+
+/**
+ * Orders Well Formed Names by their attribute values, so collections of names can be sorted and
+ * merged without binding them.
+ * <p>
+ * Names are first compared by their normalized values, one attribute at a time in the declaration
+ * order of {@link Attribute}. {@link LogicalValue#ANY} sorts before {@link LogicalValue#NA}, which
+ * sorts before every string. Strings are normalized by converting them to lowercase and removing the
+ * backslash from quoted letters, digits and '_', and are then compared character by character. Names
+ * whose normalized values are all equal are then ordered by their values as given, so only names with
+ * equal values compare as equal. This ordering is consistent with
+ * {@link CompactWellFormedName#equals(Object)}.
+ * <p>
+ * The order of names by their normalized values is also the order of the keys returned by
+ * {@link #sortKey(WellFormedNameView, int)}, which can be used where names must be ordered as plain
+ * strings, such as in an external sort.
+ */
+public final class WellFormedNameComparator implements Comparator<WellFormedNameView>, Serializable {
+  /**
+   * The comparator instance.
+   */
+  public static final WellFormedNameComparator INSTANCE = new WellFormedNameComparator();
+
+  private static final long serialVersionUID = 1L;
+
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+  private static final char ANY_TAG = '\u0001';
+  private static final char NA_TAG = '\u0002';
+  private static final char STRING_TAG = '\u0003';
+  private static final char STRING_TERMINATOR = '\u0000';
+
+  private WellFormedNameComparator() {
+    // use INSTANCE
+  }
+
+  @Override
+  public int compare(WellFormedNameView first, WellFormedNameView second) {
+    for (Attribute attribute : ATTRIBUTES) {
+      int retval = compareNormalized(first.get(attribute), second.get(attribute));
+      if (retval != 0) {
+        return retval;
+      }
+    }
+    // break ties between names that differ only in case or quoting
+    for (Attribute attribute : ATTRIBUTES) {
+      Object firstValue = first.get(attribute);
+      Object secondValue = second.get(attribute);
+      if (firstValue instanceof String && secondValue instanceof String) {
+        int retval = ((String) firstValue).compareTo((String) secondValue);
+        if (retval != 0) {
+          return retval;
+        }
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Creates a key representing the normalized values of every attribute of a name.
+   * 
+   * @param wfn
+   *          the name
+   * @return the key
+   * @see #sortKey(WellFormedNameView, int)
+   */
+  public static String sortKey(WellFormedNameView wfn) {
+    return sortKey(wfn, ATTRIBUTES.length);
+  }
+
+  /**
+   * Creates a key representing the normalized values of the first attributes of a name, in
+   * declaration order. The natural ordering of keys is consistent with this comparator: if the key of
+   * one name is less than the key of another, the name is also ordered first by
+   * {@link #compare(WellFormedNameView, WellFormedNameView)}. Names with equal keys must be compared
+   * using the comparator to be fully ordered.
+   * <p>
+   * The key holds a tag character for each attribute: U+0001 for {@link LogicalValue#ANY}, U+0002 for
+   * {@link LogicalValue#NA}, or U+0003 for a string, which is followed by the normalized string and a
+   * U+0000 terminator.
+   * 
+   * @param wfn
+   *          the name
+   * @param attributes
+   *          the number of attributes to include, from 0 to 11
+   * @return the key
+   * @throws IllegalArgumentException
+   *           if the number of attributes is out of range
+   */
+  public static String sortKey(WellFormedNameView wfn, int attributes) {
+    if (attributes < 0 || attributes > ATTRIBUTES.length) {
+      throw new IllegalArgumentException("The number of attributes must be from 0 to " + ATTRIBUTES.length);
+    }
+    StringBuilder retval = new StringBuilder(64);
+    for (int i = 0; i < attributes; i++) {
+      Object value = wfn.get(ATTRIBUTES[i]);
+      if (LogicalValue.ANY.equals(value)) {
+        retval.append(ANY_TAG);
+      } else if (LogicalValue.NA.equals(value)) {
+        retval.append(NA_TAG);
+      } else {
+        retval.append(STRING_TAG);
+        String str = (String) value;
+        int end = str.length() << 1;
+        for (int position = 0; position < end;) {
+          long next = Utilities.nextNormalized(str, position);
+          retval.append((char) next);
+          position = (int) (next >>> 16);
+        }
+        retval.append(STRING_TERMINATOR);
+      }
+    }
+    return retval.toString();
+  }
+
+  /**
+   * Compares two attribute values by their normalized form, in the same order as their keys.
+   */
+  private static int compareNormalized(Object first, Object second) {
+    if (first == second) {
+      return 0;
+    }
+    int retval = rank(first) - rank(second);
+    if (retval != 0 || !(first instanceof String)) {
+      return retval;
+    }
+
+    String firstStr = (String) first;
+    String secondStr = (String) second;
+    int firstEnd = firstStr.length() << 1;
+    int secondEnd = secondStr.length() << 1;
+    int firstPosition = 0;
+    int secondPosition = 0;
+    while (firstPosition < firstEnd && secondPosition < secondEnd) {
+      long firstNext = Utilities.nextNormalized(firstStr, firstPosition);
+      long secondNext = Utilities.nextNormalized(secondStr, secondPosition);
+      retval = (char) firstNext - (char) secondNext;
+      if (retval != 0) {
+        return retval;
+      }
+      firstPosition = (int) (firstNext >>> 16);
+      secondPosition = (int) (secondNext >>> 16);
+    }
+    // the shorter value sorts first, as its key ends with the terminator
+    return firstPosition < firstEnd ? 1 : secondPosition < secondEnd ? -1 : 0;
+  }
+
+  private static int rank(Object value) {
+    if (LogicalValue.ANY.equals(value)) {
+      return 0;
+    }
+    if (LogicalValue.NA.equals(value)) {
+      return 1;
+    }
+    return 2;
+  }
+
+  private Object readResolve() {
+    return INSTANCE;
+  }
+}
@@ -51,13 +51,22 @@
 
 package gov.nist.secauto.cpe.matching;
 
+import gov.nist.secauto.cpe.common.AttributeStates;
 import gov.nist.secauto.cpe.common.LogicalValue;
 import gov.nist.secauto.cpe.common.Utilities;
 import gov.nist.secauto.cpe.common.WellFormedName;
 import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * The CPENameMatcher is an implementation of the CPE Matching algorithm, as specified in the CPE
@@ -69,6 +78,22 @@ import java.util.Map;
  * @author <a href="mailto:david.waltermire@nist.gov">David Waltermire</a>
  */
 public class CPENameMatcher {
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+  // the number of name comparisons below which a batch is not split any further
+  private static final long BATCH_THRESHOLD = 1 << 14;
+
+  // The relation between two attribute values, indexed by the source state followed by the target
+  // state, or null if the values must be compared.
+  private static final Relation[] STATE_RELATIONS = {
+      // source ANY
+      Relation.EQUAL, Relation.SUPERSET, Relation.SUPERSET, null,
+      // source NA
+      Relation.SUBSET, Relation.EQUAL, Relation.DISJOINT, null,
+      // source SIMPLE
+      Relation.SUBSET, Relation.DISJOINT, null, null,
+      // source COMPLEX
+      Relation.SUBSET, Relation.DISJOINT, null, null };
+
   private CPENameMatcher() {
     // disable construction
   }
@@ -81,12 +106,27 @@ public class CPENameMatcher {
    * @param target
    *          Target WFN
    * @return true if the names are disjoint, false otherwise
+   * @see #isDisjoint(WellFormedNameView, WellFormedNameView)
    */
   public static boolean isDisjoint(WellFormedName source, WellFormedName target) {
+    return isDisjoint((WellFormedNameView) source, (WellFormedNameView) target);
+  }
+
+  /**
+   * Tests two Well Formed Names for disjointness.
+   * 
+   * @param source
+   *          Source WFN
+   * @param target
+   *          Target WFN
+   * @return true if the names are disjoint, false otherwise
+   */
+  public static boolean isDisjoint(WellFormedNameView source, WellFormedNameView target) {
+    int sourceStates = source.getAttributeStates();
+    int targetStates = target.getAttributeStates();
     // if any pairwise comparison is disjoint, the names are disjoint.
-    Map<WellFormedName.Attribute, Relation> resultList = compareWFNs(source, target);
-    for (Relation result : resultList.values()) {
-      if (Relation.DISJOINT.equals(result)) {
+    for (Attribute attribute : ATTRIBUTES) {
+      if (Relation.DISJOINT.equals(compare(attribute, source, sourceStates, target, targetStates))) {
         return true;
       }
     }
@@ -101,12 +141,27 @@ public class CPENameMatcher {
    * @param target
    *          Target WFN
    * @return true if the names are equal, false otherwise
+   * @see #isEqual(WellFormedNameView, WellFormedNameView)
    */
   public static boolean isEqual(WellFormedName source, WellFormedName target) {
+    return isEqual((WellFormedNameView) source, (WellFormedNameView) target);
+  }
+
+  /**
+   * Tests two Well Formed Names for equality.
+   * 
+   * @param source
+   *          Source WFN
+   * @param target
+   *          Target WFN
+   * @return true if the names are equal, false otherwise
+   */
+  public static boolean isEqual(WellFormedNameView source, WellFormedNameView target) {
+    int sourceStates = source.getAttributeStates();
+    int targetStates = target.getAttributeStates();
     // if every pairwise comparison is equal, the names are equal.
-    Map<WellFormedName.Attribute, Relation> resultList = compareWFNs(source, target);
-    for (Relation result : resultList.values()) {
-      if (!(Relation.EQUAL.equals(result))) {
+    for (Attribute attribute : ATTRIBUTES) {
+      if (!(Relation.EQUAL.equals(compare(attribute, source, sourceStates, target, targetStates)))) {
         return false;
       }
     }
@@ -121,12 +176,28 @@ public class CPENameMatcher {
    * @param target
    *          Target WFN
    * @return true if the target is a subset of the source, false otherwise
+   * @see #isSubset(WellFormedNameView, WellFormedNameView)
    */
   public static boolean isSubset(WellFormedName source, WellFormedName target) {
+    return isSubset((WellFormedNameView) source, (WellFormedNameView) target);
+  }
+
+  /**
+   * Tests if the target Well Formed Name is a subset of the source Well Formed Name.
+   * 
+   * @param source
+   *          Source WFN
+   * @param target
+   *          Target WFN
+   * @return true if the target is a subset of the source, false otherwise
+   */
+  public static boolean isSubset(WellFormedNameView source, WellFormedNameView target) {
+    int sourceStates = source.getAttributeStates();
+    int targetStates = target.getAttributeStates();
     // if any comparison is anything other than subset or equal, then target is
     // not a subset of source.
-    Map<WellFormedName.Attribute, Relation> resultList = compareWFNs(source, target);
-    for (Relation result : resultList.values()) {
+    for (Attribute attribute : ATTRIBUTES) {
+      Relation result = compare(attribute, source, sourceStates, target, targetStates);
       if (!(Relation.SUBSET.equals(result)) && !(Relation.EQUAL.equals(result))) {
         return false;
       }
@@ -142,13 +213,29 @@ public class CPENameMatcher {
    * @param target
    *          Target WFN
    * @return true if the target is a superset of the source, false otherwise
+   * @see #isSuperset(WellFormedNameView, WellFormedNameView)
    */
   public static boolean isSuperset(WellFormedName source, WellFormedName target) {
+    return isSuperset((WellFormedNameView) source, (WellFormedNameView) target);
+  }
+
+  /**
+   * Tests if the target Well Formed name is a superset of the source Well Formed Name.
+   * 
+   * @param source
+   *          Source WFN
+   * @param target
+   *          Target WFN
+   * @return true if the target is a superset of the source, false otherwise
+   */
+  public static boolean isSuperset(WellFormedNameView source, WellFormedNameView target) {
+    int sourceStates = source.getAttributeStates();
+    int targetStates = target.getAttributeStates();
     // if any comparison is anything other than superset or equal, then target is
     // not
     // a superset of source.
-    Map<WellFormedName.Attribute, Relation> resultList = compareWFNs(source, target);
-    for (Relation result : resultList.values()) {
+    for (Attribute attribute : ATTRIBUTES) {
+      Relation result = compare(attribute, source, sourceStates, target, targetStates);
       if ((!Relation.SUPERSET.equals(result)) && (!Relation.EQUAL.equals(result))) {
         return false;
       }
@@ -156,6 +243,86 @@ public class CPENameMatcher {
     return true;
   }
 
+  /**
+   * Tests two Well Formed Names for disjointness, using their signatures to avoid comparing the
+   * names when possible.
+   * 
+   * @param source
+   *          Source WFN
+   * @param sourceSignature
+   *          the signature of the source WFN
+   * @param target
+   *          Target WFN
+   * @param targetSignature
+   *          the signature of the target WFN
+   * @return true if the names are disjoint, false otherwise
+   * @see #isDisjoint(WellFormedNameView, WellFormedNameView)
+   */
+  public static boolean isDisjoint(WellFormedNameView source, CpeSignature sourceSignature, WellFormedNameView target,
+      CpeSignature targetSignature) {
+    return sourceSignature.provesDisjoint(targetSignature) || isDisjoint(source, target);
+  }
+
+  /**
+   * Tests two Well Formed Names for equality, using their signatures to avoid comparing the names
+   * when possible.
+   * 
+   * @param source
+   *          Source WFN
+   * @param sourceSignature
+   *          the signature of the source WFN
+   * @param target
+   *          Target WFN
+   * @param targetSignature
+   *          the signature of the target WFN
+   * @return true if the names are equal, false otherwise
+   * @see #isEqual(WellFormedNameView, WellFormedNameView)
+   */
+  public static boolean isEqual(WellFormedNameView source, CpeSignature sourceSignature, WellFormedNameView target,
+      CpeSignature targetSignature) {
+    return !sourceSignature.provesDisjoint(targetSignature) && isEqual(source, target);
+  }
+
+  /**
+   * Tests if the target Well Formed Name is a subset of the source Well Formed Name, using their
+   * signatures to avoid comparing the names when possible.
+   * 
+   * @param source
+   *          Source WFN
+   * @param sourceSignature
+   *          the signature of the source WFN
+   * @param target
+   *          Target WFN
+   * @param targetSignature
+   *          the signature of the target WFN
+   * @return true if the target is a subset of the source, false otherwise
+   * @see #isSubset(WellFormedNameView, WellFormedNameView)
+   */
+  public static boolean isSubset(WellFormedNameView source, CpeSignature sourceSignature, WellFormedNameView target,
+      CpeSignature targetSignature) {
+    return !sourceSignature.provesDisjoint(targetSignature) && isSubset(source, target);
+  }
+
+  /**
+   * Tests if the target Well Formed name is a superset of the source Well Formed Name, using their
+   * signatures to avoid comparing the names when possible.
+   * 
+   * @param source
+   *          Source WFN
+   * @param sourceSignature
+   *          the signature of the source WFN
+   * @param target
+   *          Target WFN
+   * @param targetSignature
+   *          the signature of the target WFN
+   * @return true if the target is a superset of the source, false otherwise
+   * @see #isSuperset(WellFormedNameView, WellFormedNameView)
+   */
+  public static boolean isSuperset(WellFormedNameView source, CpeSignature sourceSignature, WellFormedNameView target,
+      CpeSignature targetSignature) {
+    return !sourceSignature.provesDisjoint(targetSignature) && isSuperset(source, target);
+  }
+
   /**
    * Compares each attribute value pair in two Well Formed Names.
    * 
@@ -164,16 +331,197 @@ public class CPENameMatcher {
    * @param target
    *          Target WFN
    * @return A Hashtable mapping attribute string to attribute value Relation
+   * @see #compareAttributes(WellFormedNameView, WellFormedNameView)
+   * @see #compareWFNs(WellFormedNameView, WellFormedNameView)
    */
   public static Map<WellFormedName.Attribute, Relation> compareWFNs(WellFormedName source, WellFormedName target) {
+    return compareWFNs((WellFormedNameView) source, (WellFormedNameView) target);
+  }
+
+  /**
+   * Compares each attribute value pair in two Well Formed Names.
+   * 
+   * @param source
+   *          Source WFN
+   * @param target
+   *          Target WFN
+   * @return A Hashtable mapping attribute string to attribute value Relation
+   * @see #compareAttributes(WellFormedNameView, WellFormedNameView)
+   */
+  public static Map<WellFormedName.Attribute, Relation> compareWFNs(WellFormedNameView source,
+      WellFormedNameView target) {
+    int sourceStates = source.getAttributeStates();
+    int targetStates = target.getAttributeStates();
     Map<WellFormedName.Attribute, Relation> result
-        = new LinkedHashMap<WellFormedName.Attribute, Relation>(Attribute.values().length);
-    for (WellFormedName.Attribute attribute : Attribute.values()) {
-      result.put(attribute, compare(source.get(attribute), target.get(attribute)));
+        = new LinkedHashMap<WellFormedName.Attribute, Relation>(ATTRIBUTES.length);
+    for (WellFormedName.Attribute attribute : ATTRIBUTES) {
+      result.put(attribute, compare(attribute, source, sourceStates, target, targetStates));
     }
     return result;
   }
 
+  /**
+   * Compares each attribute value pair in two Well Formed Names. This provides the same results as
+   * {@link #compareWFNs(WellFormedNameView, WellFormedNameView)} in a compact form.
+   * 
+   * @param source
+   *          Source WFN
+   * @param target
+   *          Target WFN
+   * @return the relation of each attribute value pair
+   */
+  public static RelationVector compareAttributes(WellFormedNameView source, WellFormedNameView target) {
+    int sourceStates = source.getAttributeStates();
+    int targetStates = target.getAttributeStates();
+    long bits = 0;
+    for (WellFormedName.Attribute attribute : ATTRIBUTES) {
+      bits = RelationVector.with(bits, attribute, compare(attribute, source, sourceStates, target, targetStates));
+    }
+    return RelationVector.valueOf(bits);
+  }
+
+  /**
+   * Compares every source name to every target name, using the common {@link ForkJoinPool}.
+   * 
+   * @param sources
+   *          the source WFNs
+   * @param targets
+   *          the target WFNs
+   * @param wanted
+   *          the relation to find
+   * @return for each source name, a set with a bit set at the index of each target name that has the
+   *         wanted relation
+   * @see #matchAll(List, List, Relation, ForkJoinPool)
+   */
+  public static List<BitSet> matchAll(List<WellFormedName> sources, List<WellFormedName> targets,
+      Relation wanted) {
+    return matchAll(sources, targets, wanted, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Compares every source name to every target name, dividing the comparisons between the threads
+   * of the provided pool.
+   * <p>
+   * Only target names whose relation to the source is exactly the wanted relation are found. In
+   * particular, {@link Relation#SUPERSET} does not find target names that are equal to the source,
+   * although {@link #isSuperset(WellFormedNameView, WellFormedNameView)} is {@code true} for them.
+   * Use {@link #matchAll(List, List, Set, ForkJoinPool)} to find several relations at once.
+   * 
+   * @param sources
+   *          the source WFNs
+   * @param targets
+   *          the target WFNs
+   * @param wanted
+   *          the relation to find
+   * @param pool
+   *          the pool to perform the comparisons in
+   * @return for each source name, a set with a bit set at the index of each target name that has the
+   *         wanted relation
+   * @see #matchAll(List, List, Set, ForkJoinPool)
+   */
+  public static List<BitSet> matchAll(List<WellFormedName> sources, List<WellFormedName> targets, Relation wanted,
+      ForkJoinPool pool) {
+    return matchAll(sources, targets, EnumSet.of(wanted), pool);
+  }
+
+  /**
+   * Compares every source name to every target name, using the common {@link ForkJoinPool}.
+   * 
+   * @param sources
+   *          the source WFNs
+   * @param targets
+   *          the target WFNs
+   * @param wanted
+   *          the relations to find
+   * @return for each source name, a set with a bit set at the index of each target name that has any
+   *         of the wanted relations
+   * @see #matchAll(List, List, Set, ForkJoinPool)
+   */
+  public static List<BitSet> matchAll(List<WellFormedName> sources, List<WellFormedName> targets,
+      Set<Relation> wanted) {
+    return matchAll(sources, targets, wanted, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Compares every source name to every target name, dividing the comparisons between the threads
+   * of the provided pool. The relation between two names is determined as described by
+   * {@link CompiledCpePattern#relationTo(WellFormedNameView)}, and a target name is found if its
+   * relation is any of the wanted relations. For example, the target names for which
+   * {@link #isSuperset(WellFormedNameView, WellFormedNameView)} is {@code true} are found by wanting
+   * both {@link Relation#SUPERSET} and {@link Relation#EQUAL}.
+   * 
+   * @param sources
+   *          the source WFNs
+   * @param targets
+   *          the target WFNs
+   * @param wanted
+   *          the relations to find
+   * @param pool
+   *          the pool to perform the comparisons in
+   * @return for each source name, a set with a bit set at the index of each target name that has any
+   *         of the wanted relations
+   */
+  public static List<BitSet> matchAll(List<WellFormedName> sources, List<WellFormedName> targets,
+      Set<Relation> wanted, ForkJoinPool pool) {
+    // copy the relations, so they cannot change while the comparisons are in progress
+    Set<Relation> relations = wanted.isEmpty() ? EnumSet.noneOf(Relation.class) : EnumSet.copyOf(wanted);
+    CompiledCpePattern[] patterns = new CompiledCpePattern[sources.size()];
+    BitSet[] results = new BitSet[sources.size()];
+    for (int i = 0; i < patterns.length; i++) {
+      patterns[i] = new CompiledCpePattern(sources.get(i));
+      results[i] = new BitSet(targets.size());
+    }
+    WellFormedName[] targetArray = targets.toArray(new WellFormedName[targets.size()]);
+    CpeSignature[] signatures = new CpeSignature[targetArray.length];
+    for (int i = 0; i < signatures.length; i++) {
+      signatures[i] = CpeSignature.of(targetArray[i]);
+    }
+
+    pool.invoke(new MatchTask(patterns, targetArray, signatures, relations, results, 0, patterns.length, 0,
+        targetArray.length));
+
+    List<BitSet> retval = new ArrayList<BitSet>(results.length);
+    for (BitSet result : results) {
+      retval.add(result);
+    }
+    return retval;
+  }
+
+  /**
+   * Compares the values of an attribute in two names. When the states of the values determine the
+   * relation, the values are not inspected. Only a pair of simple strings, or a pair involving a value
+   * that may contain quoted characters or wildcards, is compared by value.
+   * 
+   * @param attribute
+   *          the attribute to compare
+   * @param source
+   *          Source WFN
+   * @param sourceStates
+   *          the attribute states of the source WFN
+   * @param target
+   *          Target WFN
+   * @param targetStates
+   *          the attribute states of the target WFN
+   * @return The relation between the two attribute values.
+   */
+  private static Relation compare(Attribute attribute, WellFormedNameView source, int sourceStates,
+      WellFormedNameView target, int targetStates) {
+    int sourceState = AttributeStates.get(sourceStates, attribute);
+    int targetState = AttributeStates.get(targetStates, attribute);
+    Relation retval = STATE_RELATIONS[(sourceState << AttributeStates.BITS_PER_STATE) | targetState];
+    if (retval == null) {
+      Object sourceValue = source.get(attribute);
+      Object targetValue = target.get(attribute);
+      if (sourceState == AttributeStates.SIMPLE && targetState == AttributeStates.SIMPLE) {
+        // strings without wildcards or quoting only match if they are equal
+        retval = ((String) sourceValue).equalsIgnoreCase((String) targetValue) ? Relation.EQUAL : Relation.DISJOINT;
+      } else {
+        retval = compare(sourceValue, targetValue);
+      }
+    }
+    return retval;
+  }
+
   /**
    * Compares an attribute value pair.
    * 
@@ -184,20 +532,18 @@ public class CPENameMatcher {
    * @return The relation between the two attribute values.
    */
   private static Relation compare(Object source, Object target) {
-    // matching is case insensitive, convert strings to lowercase.
-    if (isString(source)) {
-      source = Utilities.toLowercase((String) source);
-    }
-    if (isString(target)) {
-      target = Utilities.toLowercase((String) target);
+    // Identical instances, such as logical values or interned strings, are equal unless the target
+    // contains wildcards.
+    if (source == target) {
+      return isString(target) && Utilities.containsWildcards((String) target) ? Relation.UNDEFINED : Relation.EQUAL;
     }
-
     // Unquoted wildcard characters yield an undefined result.
     if (isString(target) && Utilities.containsWildcards((String) target)) {
       return Relation.UNDEFINED;
     }
-    // If source and target values are equal, then result is equal.
-    if (source.equals(target)) {
+    // If source and target values are equal, then result is equal. Matching is case insensitive.
+    if (source.equals(target)
+        || (isString(source) && isString(target) && ((String) source).equalsIgnoreCase((String) target))) {
       return Relation.EQUAL;
     }
 
@@ -246,37 +592,42 @@ public class CPENameMatcher {
    * @return Relation between source and target Strings.
    */
   private static Relation compareStrings(String source, String target) {
-    int start = 0;
-    int end = Utilities.strlen(source);
-    int begins = 0;
-    int ends = 0;
-
-    if (Utilities.substr(source, 0, 1).equals("*")) {
-      start = 1;
-      begins = -1;
-    } else {
-      while ((start < Utilities.strlen(source)) && (Utilities.substr(source, start, start + 1).equals("?"))) {
-        start = start + 1;
-        begins = begins + 1;
-      }
-    }
-    if ((Utilities.substr(source, end - 1, end).equals("*")) && (isEvenWildcards(source, end - 1))) {
-      end = end - 1;
-      ends = -1;
-    } else {
-      while ((end > 0) && Utilities.substr(source, end - 1, end).equals("?") && (isEvenWildcards(source, end - 1))) {
-        end = end - 1;
-        ends = ends + 1;
-      }
-    }
+    int start = patternStart(source);
+    int end = patternEnd(source);
+    return compareStrings(source, start, Math.max(start, end), patternBegins(source, start),
+        patternEnds(source, end), target);
+  }
 
-    source = Utilities.substr(source, start, end);
+  /**
+   * Performs the search portion of {@link #compareStrings(String, String)} using a source string that
+   * has already been analyzed for leading and trailing special characters. The search is case
+   * insensitive, so neither string needs to be converted to lowercase beforehand.
+   * 
+   * @param source
+   *          the source string
+   * @param start
+   *          the index of the first character in source following any leading special characters
+   * @param end
+   *          the index following the last character in source preceding any trailing special
+   *          characters
+   * @param begins
+   *          the number of leading '?' characters, or -1 if the source begins with '*'
+   * @param ends
+   *          the number of trailing '?' characters, or -1 if the source ends with '*'
+   * @param target
+   *          the target string
+   * @return {@link Relation#SUPERSET} if the source matches the target, or {@link Relation#DISJOINT}
+   *         otherwise
+   */
+  static Relation compareStrings(String source, int start, int end, int begins, int ends, String target) {
+    int length = end - start;
+    int targetLength = Utilities.strlen(target);
 
     int index = -1;
-    int leftover = Utilities.strlen(target);
+    int leftover = targetLength;
     Relation retval = Relation.DISJOINT;
     while (leftover > 0) {
-      index = Utilities.indexOf(target, source, index + 1);
+      index = indexOfIgnoreCase(target, source, start, length, index + 1);
       if (index == -1) {
         break;
       }
@@ -284,8 +635,8 @@ public class CPENameMatcher {
       if ((index > 0) && (begins != -1) && (begins < (index - escapes))) {
         break;
       }
-      escapes = Utilities.countEscapeCharacters(target, index + 1, Utilities.strlen(target));
-      leftover = Utilities.strlen(target) - index - escapes - Utilities.strlen(source);
+      escapes = Utilities.countEscapeCharacters(target, index + 1, targetLength);
+      leftover = targetLength - index - escapes - length;
       if ((leftover > 0) && ((ends != -1) && (leftover > ends))) {
         continue;
       } else {
@@ -296,6 +647,103 @@ public class CPENameMatcher {
     return retval;
   }
 
+  /**
+   * Determines the index of the first character in the source string that follows any leading
+   * unquoted '*' or '?' characters.
+   * 
+   * @param source
+   *          the source string
+   * @return the start index
+   */
+  static int patternStart(String source) {
+    if (source.charAt(0) == '*') {
+      return 1;
+    }
+    int start = 0;
+    while ((start < Utilities.strlen(source)) && (source.charAt(start) == '?')) {
+      start = start + 1;
+    }
+    return start;
+  }
+
+  /**
+   * Determines the index following the last character in the source string that precedes any
+   * trailing unquoted '*' or '?' characters.
+   * 
+   * @param source
+   *          the source string
+   * @return the end index
+   */
+  static int patternEnd(String source) {
+    int end = Utilities.strlen(source);
+    if ((source.charAt(end - 1) == '*') && (isEvenWildcards(source, end - 1))) {
+      return end - 1;
+    }
+    while ((end > 0) && (source.charAt(end - 1) == '?') && (isEvenWildcards(source, end - 1))) {
+      end = end - 1;
+    }
+    return end;
+  }
+
+  /**
+   * Determines the number of leading '?' characters in the source string.
+   * 
+   * @param source
+   *          the source string
+   * @param start
+   *          the start index computed by {@link #patternStart(String)}
+   * @return the number of leading '?' characters, or -1 if the source begins with '*'
+   */
+  static int patternBegins(String source, int start) {
+    return source.charAt(0) == '*' ? -1 : start;
+  }
+
+  /**
+   * Determines the number of trailing '?' characters in the source string.
+   * 
+   * @param source
+   *          the source string
+   * @param end
+   *          the end index computed by {@link #patternEnd(String)}
+   * @return the number of trailing '?' characters, or -1 if the source ends with '*'
+   */
+  static int patternEnds(String source, int end) {
+    int length = Utilities.strlen(source);
+    if (end == length) {
+      return 0;
+    }
+    return source.charAt(length - 1) == '*' ? -1 : length - end;
+  }
+
+  /**
+   * Searches the target string for a region of the source string, ignoring case.
+   * 
+   * @param target
+   *          the string to search
+   * @param source
+   *          the string containing the region to search for
+   * @param start
+   *          the index of the region in the source string
+   * @param length
+   *          the length of the region
+   * @param offset
+   *          the offset in the target string to start at
+   * @return the index of the first match at or after offset, or -1 if no match was found
+   */
+  private static int indexOfIgnoreCase(String target, String source, int start, int length, int offset) {
+    int targetLength = Utilities.strlen(target);
+    if (offset >= targetLength) {
+      // an empty region matches at the end of the string, as with String.indexOf
+      return length == 0 ? targetLength : -1;
+    }
+    for (int idx = Math.max(offset, 0); idx <= targetLength - length; idx++) {
+      if (target.regionMatches(true, idx, source, start, length)) {
+        return idx;
+      }
+    }
+    return -1;
+  }
+
   /**
    * Searches a string for the backslash character.
    * 
@@ -328,4 +776,73 @@ public class CPENameMatcher {
       return false;
     }
   }
+
+  /**
+   * Compares a range of source names to a range of target names, splitting the work in half until
+   * it is small enough to perform directly.
+   */
+  @SuppressWarnings("serial")
+  private static final class MatchTask extends RecursiveAction {
+    private final CompiledCpePattern[] sources;
+    private final WellFormedName[] targets;
+    private final CpeSignature[] signatures;
+    private final Set<Relation> wanted;
+    private final BitSet[] results;
+    private final int sourceFrom;
+    private final int sourceTo;
+    private final int targetFrom;
+    private final int targetTo;
+
+    private MatchTask(CompiledCpePattern[] sources, WellFormedName[] targets, CpeSignature[] signatures,
+        Set<Relation> wanted, BitSet[] results, int sourceFrom, int sourceTo, int targetFrom, int targetTo) {
+      this.sources = sources;
+      this.targets = targets;
+      this.signatures = signatures;
+      this.wanted = wanted;
+      this.results = results;
+      this.sourceFrom = sourceFrom;
+      this.sourceTo = sourceTo;
+      this.targetFrom = targetFrom;
+      this.targetTo = targetTo;
+    }
+
+    @Override
+    protected void compute() {
+      int sourceCount = sourceTo - sourceFrom;
+      int targetCount = targetTo - targetFrom;
+      if ((long) sourceCount * targetCount <= BATCH_THRESHOLD || (sourceCount <= 1 && targetCount <= 1)) {
+        compareRange();
+      } else if (sourceCount > 1) {
+        int middle = sourceFrom + sourceCount / 2;
+        invokeAll(split(sourceFrom, middle, targetFrom, targetTo), split(middle, sourceTo, targetFrom, targetTo));
+      } else {
+        int middle = targetFrom + targetCount / 2;
+        invokeAll(split(sourceFrom, sourceTo, targetFrom, middle), split(sourceFrom, sourceTo, middle, targetTo));
+      }
+    }
+
+    private MatchTask split(int newSourceFrom, int newSourceTo, int newTargetFrom, int newTargetTo) {
+      return new MatchTask(sources, targets, signatures, wanted, results, newSourceFrom, newSourceTo, newTargetFrom,
+          newTargetTo);
+    }
+
+    private void compareRange() {
+      boolean allTargets = targetFrom == 0 && targetTo == targets.length;
+      for (int i = sourceFrom; i < sourceTo; i++) {
+        // other tasks may be working on the same source when the targets have been split
+        BitSet result = allTargets ? results[i] : new BitSet(targetTo);
+        CompiledCpePattern source = sources[i];
+        for (int j = targetFrom; j < targetTo; j++) {
+          if (wanted.contains(source.relationTo(targets[j], signatures[j]))) {
+            result.set(j);
+          }
+        }
+        if (!allTargets && !result.isEmpty()) {
+          synchronized (results[i]) {
+            results[i].or(result);
+          }
+        }
+      }
+    }
+  }
 }
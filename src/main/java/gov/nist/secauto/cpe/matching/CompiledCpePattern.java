@@ -0,0 +1,331 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.Utilities;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
+
+/**
+ * A source {@link WellFormedName} that has been analyzed once so that it can be efficiently
+ * compared to many target names. Each attribute value of the source is normalized to lowercase and
+ * any leading and trailing special characters are located when the pattern is constructed. The
+ * comparison methods of this class do not allocate and return the same results as the equivalent
+ * methods in {@link CPENameMatcher}.
+ * <p>
+ * The attribute values of the source name are copied when the pattern is constructed. Later changes
+ * to the source name are not reflected in the pattern. Instances of this class are immutable and may
+ * be shared between threads.
+ * 
+ * @see <a href= "https://doi.org/10.6028/NIST.IR.7696">NISTIR 7696 Section 6</a>
+ */
+public final class CompiledCpePattern {
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+  // Either a LogicalValue or a lowercase String, indexed by attribute ordinal.
+  private final Object[] values;
+  // The bounds of each String value, excluding any leading and trailing special characters.
+  private final int[] starts;
+  private final int[] ends;
+  // The number of leading and trailing '?' characters, or -1 for a '*'.
+  private final int[] beginCounts;
+  private final int[] endCounts;
+  private final CpeSignature signature;
+
+  /**
+   * Constructs a new pattern based on the attribute values of the provided source name.
+   * 
+   * @param source
+   *          the source WFN
+   */
+  public CompiledCpePattern(WellFormedNameView source) {
+    int size = ATTRIBUTES.length;
+    this.values = new Object[size];
+    this.starts = new int[size];
+    this.ends = new int[size];
+    this.beginCounts = new int[size];
+    this.endCounts = new int[size];
+    this.signature = CpeSignature.of(source);
+
+    for (Attribute attribute : ATTRIBUTES) {
+      int idx = attribute.ordinal();
+      Object value = source.get(attribute);
+      if (value instanceof String) {
+        String str = Utilities.toLowercase((String) value);
+        int start = CPENameMatcher.patternStart(str);
+        int end = CPENameMatcher.patternEnd(str);
+        values[idx] = str;
+        starts[idx] = start;
+        ends[idx] = Math.max(start, end);
+        beginCounts[idx] = CPENameMatcher.patternBegins(str, start);
+        endCounts[idx] = CPENameMatcher.patternEnds(str, end);
+      } else {
+        values[idx] = value;
+      }
+    }
+  }
+
+  /**
+   * Get the normalized value of the provided attribute.
+   * 
+   * @param attribute
+   *          the attribute to get the value for
+   * @return the {@link LogicalValue}, or the lowercase String value of the attribute
+   */
+  public Object get(Attribute attribute) {
+    return values[attribute.ordinal()];
+  }
+
+  /**
+   * Get the signature of the source name.
+   * 
+   * @return the signature
+   */
+  public CpeSignature getSignature() {
+    return signature;
+  }
+
+  /**
+   * Get the index following the last character of an attribute's String value that precedes any
+   * trailing special characters.
+   * 
+   * @param attribute
+   *          the attribute to get the index for
+   * @return the end index, or 0 if the value is a {@link LogicalValue}
+   */
+  int getEnd(Attribute attribute) {
+    return ends[attribute.ordinal()];
+  }
+
+  /**
+   * Compares the value of an attribute in this pattern to the provided target value.
+   * 
+   * @param attribute
+   *          the attribute to compare
+   * @param target
+   *          the target attribute value
+   * @return the relation between the two attribute values
+   */
+  public Relation compare(Attribute attribute, Object target) {
+    int idx = attribute.ordinal();
+    Object source = values[idx];
+
+    if (target instanceof String) {
+      String str = (String) target;
+      // Unquoted wildcard characters yield an undefined result.
+      if (Utilities.containsWildcards(str)) {
+        return Relation.UNDEFINED;
+      }
+      if (source instanceof String) {
+        if (str.equalsIgnoreCase((String) source)) {
+          return Relation.EQUAL;
+        }
+        return CPENameMatcher.compareStrings((String) source, starts[idx], ends[idx], beginCounts[idx],
+            endCounts[idx], str);
+      }
+      // If source value is ANY, result is a superset. If NA, result is disjoint.
+      return LogicalValue.ANY.equals(source) ? Relation.SUPERSET : Relation.DISJOINT;
+    }
+
+    // the target is a logical value
+    if (source.equals(target)) {
+      return Relation.EQUAL;
+    }
+    if (LogicalValue.ANY.equals(source)) {
+      return Relation.SUPERSET;
+    }
+    // If target value is ANY, result is a subset. If NA, result is disjoint.
+    return LogicalValue.ANY.equals(target) ? Relation.SUBSET : Relation.DISJOINT;
+  }
+
+  /**
+   * Compares each attribute value in this pattern to the corresponding value in the target name.
+   * 
+   * @param target
+   *          the target WFN
+   * @return the relation of each attribute value pair
+   * @see CPENameMatcher#compareAttributes(WellFormedNameView, WellFormedNameView)
+   */
+  public RelationVector compareAttributes(WellFormedNameView target) {
+    long bits = 0;
+    for (Attribute attribute : ATTRIBUTES) {
+      bits = RelationVector.with(bits, attribute, compare(attribute, target.get(attribute)));
+    }
+    return RelationVector.valueOf(bits);
+  }
+
+  /**
+   * Determines the relation between this pattern, as the source, and the provided target name. The
+   * result is:
+   * <ul>
+   * <li>{@link Relation#DISJOINT} if any attribute comparison is disjoint</li>
+   * <li>{@link Relation#EQUAL} if every attribute comparison is equal</li>
+   * <li>{@link Relation#SUPERSET} if every attribute comparison is a superset or equal</li>
+   * <li>{@link Relation#SUBSET} if every attribute comparison is a subset or equal</li>
+   * <li>{@link Relation#UNDEFINED} otherwise</li>
+   * </ul>
+   * 
+   * @param target
+   *          the target WFN
+   * @return the relation between this pattern and the target name
+   * @see CPENameMatcher#isDisjoint(WellFormedNameView, WellFormedNameView)
+   * @see CPENameMatcher#isEqual(WellFormedNameView, WellFormedNameView)
+   * @see CPENameMatcher#isSuperset(WellFormedNameView, WellFormedNameView)
+   * @see CPENameMatcher#isSubset(WellFormedNameView, WellFormedNameView)
+   */
+  public Relation relationTo(WellFormedNameView target) {
+    boolean equal = true;
+    boolean superset = true;
+    boolean subset = true;
+    for (Attribute attribute : ATTRIBUTES) {
+      Relation result = compare(attribute, target.get(attribute));
+      switch (result) {
+      case DISJOINT:
+        return Relation.DISJOINT;
+      case EQUAL:
+        break;
+      case SUPERSET:
+        equal = false;
+        subset = false;
+        break;
+      case SUBSET:
+        equal = false;
+        superset = false;
+        break;
+      default:
+        equal = false;
+        superset = false;
+        subset = false;
+        break;
+      }
+    }
+
+    Relation retval;
+    if (equal) {
+      retval = Relation.EQUAL;
+    } else if (superset) {
+      retval = Relation.SUPERSET;
+    } else if (subset) {
+      retval = Relation.SUBSET;
+    } else {
+      retval = Relation.UNDEFINED;
+    }
+    return retval;
+  }
+
+  /**
+   * Determines the relation between this pattern, as the source, and the provided target name,
+   * using the signature of the target to avoid comparing the names when possible.
+   * 
+   * @param target
+   *          the target WFN
+   * @param targetSignature
+   *          the signature of the target WFN
+   * @return the relation between this pattern and the target name
+   * @see #relationTo(WellFormedNameView)
+   */
+  public Relation relationTo(WellFormedNameView target, CpeSignature targetSignature) {
+    if (signature.provesDisjoint(targetSignature)) {
+      return Relation.DISJOINT;
+    }
+    return relationTo(target);
+  }
+
+  /**
+   * Tests this pattern and the target Well Formed Name for disjointness.
+   * 
+   * @param target
+   *          Target WFN
+   * @return true if the names are disjoint, false otherwise
+   * @see CPENameMatcher#isDisjoint(WellFormedNameView, WellFormedNameView)
+   */
+  public boolean isDisjoint(WellFormedNameView target) {
+    for (Attribute attribute : ATTRIBUTES) {
+      if (Relation.DISJOINT.equals(compare(attribute, target.get(attribute)))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Tests this pattern and the target Well Formed Name for equality.
+   * 
+   * @param target
+   *          Target WFN
+   * @return true if the names are equal, false otherwise
+   * @see CPENameMatcher#isEqual(WellFormedNameView, WellFormedNameView)
+   */
+  public boolean isEqual(WellFormedNameView target) {
+    for (Attribute attribute : ATTRIBUTES) {
+      if (!Relation.EQUAL.equals(compare(attribute, target.get(attribute)))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Tests if every attribute comparison between this pattern and the target Well Formed Name is a
+   * subset or equal.
+   * 
+   * @param target
+   *          Target WFN
+   * @return true if every comparison is a subset or equal, false otherwise
+   * @see CPENameMatcher#isSubset(WellFormedNameView, WellFormedNameView)
+   */
+  public boolean isSubset(WellFormedNameView target) {
+    for (Attribute attribute : ATTRIBUTES) {
+      Relation result = compare(attribute, target.get(attribute));
+      if (!Relation.SUBSET.equals(result) && !Relation.EQUAL.equals(result)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Tests if every attribute comparison between this pattern and the target Well Formed Name is a
+   * superset or equal.
+   * 
+   * @param target
+   *          Target WFN
+   * @return true if every comparison is a superset or equal, false otherwise
+   * @see CPENameMatcher#isSuperset(WellFormedNameView, WellFormedNameView)
+   */
+  public boolean isSuperset(WellFormedNameView target) {
+    for (Attribute attribute : ATTRIBUTES) {
+      Relation result = compare(attribute, target.get(attribute));
+      if (!Relation.SUPERSET.equals(result) && !Relation.EQUAL.equals(result)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,344 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import gov.nist.secauto.cpe.common.AttributeStates;
+import gov.nist.secauto.cpe.common.CompactWellFormedName;
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column oriented store for a large collection of Well Formed Names, such as the entries of a CPE
+ * dictionary, that keeps the names outside of the Java heap.
+ * <p>
+ * Each attribute is held as a column of int value identifiers in direct memory. The identifier
+ * {@value #ANY_ID} represents {@link LogicalValue#ANY} and {@value #NA_ID} represents
+ * {@link LogicalValue#NA}. Each distinct string value is stored once in a dictionary shared by all
+ * columns and is assigned the next identifier. The heap cost of a name is therefore limited to its
+ * distinct values, which for a dictionary are shared by many names. A further column holds the
+ * packed {@link AttributeStates} of each name, so matching a stored name does not decode its values to
+ * classify them.
+ * <p>
+ * A stored name is accessed through a {@link Row}, a lightweight view that can be bound and matched
+ * directly by {@link gov.nist.secauto.cpe.naming.CPENameBinder}, {@link CPENameMatcher} and
+ * {@link CompiledCpePattern}.
+ * <p>
+ * This class is not thread-safe when names are being added, but may be read concurrently once
+ * populated.
+ */
+public class CpeColumnStore {
+  /**
+   * The value identifier of {@link LogicalValue#ANY}.
+   */
+  public static final int ANY_ID = 0;
+  /**
+   * The value identifier of {@link LogicalValue#NA}.
+   */
+  public static final int NA_ID = 1;
+
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+  private static final int DEFAULT_CAPACITY = 1024;
+  // the largest number of ints a direct buffer can hold
+  static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE / Integer.BYTES;
+
+  private final IntBuffer[] columns = new IntBuffer[ATTRIBUTES.length];
+  private IntBuffer states;
+  private final List<String> values = new ArrayList<String>();
+  private final Map<String, Integer> valueIds = new HashMap<String, Integer>();
+  private int capacity;
+  private int size;
+
+  /**
+   * Constructs a new, empty store.
+   */
+  public CpeColumnStore() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Constructs a new, empty store with room for the provided number of names before its columns
+   * need to be grown.
+   * 
+   * @param initialCapacity
+   *          the number of names to allocate space for
+   * @throws IllegalArgumentException
+   *           if the initial capacity is negative or larger than a column can hold
+   */
+  public CpeColumnStore(int initialCapacity) {
+    if (initialCapacity < 0 || initialCapacity > MAXIMUM_CAPACITY) {
+      throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+    }
+    for (Attribute attribute : ATTRIBUTES) {
+      columns[attribute.ordinal()] = allocate(initialCapacity);
+    }
+    states = allocate(initialCapacity);
+    capacity = initialCapacity;
+  }
+
+  private static IntBuffer allocate(int capacity) {
+    return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+  }
+
+  /**
+   * Adds a name to the store.
+   * 
+   * @param name
+   *          the name to add
+   * @return the row number assigned to the name
+   * @throws IllegalStateException
+   *           if the store already holds as many names as a column can hold
+   */
+  public int add(WellFormedNameView name) {
+    if (size == capacity) {
+      grow();
+    }
+    int row = size;
+    int rowStates = 0;
+    for (Attribute attribute : ATTRIBUTES) {
+      int id = encode(name.get(attribute));
+      columns[attribute.ordinal()].put(row, id);
+      // classify the stored value, so the states agree with the values read back from the row
+      rowStates = AttributeStates.with(rowStates, attribute, AttributeStates.of(getValue(id)));
+    }
+    states.put(row, rowStates);
+    size = row + 1;
+    return row;
+  }
+
+  /**
+   * Adds each of the provided names to the store, assigning row numbers in iteration order.
+   * 
+   * @param names
+   *          the names to add
+   */
+  public void addAll(Collection<? extends WellFormedNameView> names) {
+    for (WellFormedNameView name : names) {
+      add(name);
+    }
+  }
+
+  private void grow() {
+    int newCapacity = grownCapacity(capacity);
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = copy(columns[i], newCapacity);
+    }
+    states = copy(states, newCapacity);
+    capacity = newCapacity;
+  }
+
+  /**
+   * Computes the capacity of the columns after they are grown.
+   * 
+   * @param capacity
+   *          the current capacity
+   * @return the new capacity, which is larger than the current capacity
+   * @throws IllegalStateException
+   *           if the columns cannot be grown any further
+   */
+  static int grownCapacity(int capacity) {
+    if (capacity >= MAXIMUM_CAPACITY) {
+      throw new IllegalStateException("Store is full: " + capacity + " names");
+    }
+    // computed as a long, so a large capacity cannot overflow
+    long retval = Math.max(DEFAULT_CAPACITY, capacity + (long) (capacity >> 1));
+    return (int) Math.min(MAXIMUM_CAPACITY, retval);
+  }
+
+  private IntBuffer copy(IntBuffer column, int newCapacity) {
+    IntBuffer retval = allocate(newCapacity);
+    IntBuffer old = column.duplicate();
+    old.position(0).limit(size);
+    retval.put(old);
+    return retval;
+  }
+
+  private int encode(Object value) {
+    if (value == null || LogicalValue.ANY.equals(value)) {
+      return ANY_ID;
+    }
+    if (LogicalValue.NA.equals(value)) {
+      return NA_ID;
+    }
+    String str = (String) value;
+    Integer id = valueIds.get(str);
+    if (id == null) {
+      id = values.size() + 2;
+      values.add(str);
+      valueIds.put(str, id);
+    }
+    return id;
+  }
+
+  /**
+   * Get the number of names in the store.
+   * 
+   * @return the number of names
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get the number of distinct string values held in the dictionary.
+   * 
+   * @return the number of distinct values
+   */
+  public int getValueCount() {
+    return values.size();
+  }
+
+  /**
+   * Get the identifier of the value of an attribute of a stored name.
+   * 
+   * @param row
+   *          the row number returned when the name was added
+   * @param attribute
+   *          the attribute whose value identifier is returned
+   * @return the value identifier
+   * @throws IndexOutOfBoundsException
+   *           if the row is not in the store
+   */
+  public int getValueId(int row, Attribute attribute) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+    }
+    return columns[attribute.ordinal()].get(row);
+  }
+
+  /**
+   * Get the value represented by a value identifier.
+   * 
+   * @param id
+   *          the value identifier
+   * @return the {@link String} value, or a {@link LogicalValue}
+   * @throws IndexOutOfBoundsException
+   *           if the identifier is not in use
+   */
+  public Object getValue(int id) {
+    switch (id) {
+    case ANY_ID:
+      return LogicalValue.ANY;
+    case NA_ID:
+      return LogicalValue.NA;
+    default:
+      return values.get(id - 2);
+    }
+  }
+
+  /**
+   * Get the value of an attribute of a stored name.
+   * 
+   * @param row
+   *          the row number returned when the name was added
+   * @param attribute
+   *          the attribute whose value is returned
+   * @return the {@link String} value, or a {@link LogicalValue}
+   * @throws IndexOutOfBoundsException
+   *           if the row is not in the store
+   */
+  public Object get(int row, Attribute attribute) {
+    return getValue(getValueId(row, attribute));
+  }
+
+  /**
+   * Get a view of a stored name. The view reads the store each time a value is requested, so it is
+   * cheap to create.
+   * 
+   * @param row
+   *          the row number returned when the name was added
+   * @return a view of the name
+   * @throws IndexOutOfBoundsException
+   *           if the row is not in the store
+   */
+  public Row getRow(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+    }
+    return new Row(this, row);
+  }
+
+  /**
+   * A view of a name held in a {@link CpeColumnStore}.
+   */
+  public static final class Row implements WellFormedNameView {
+    private final CpeColumnStore store;
+    private final int row;
+
+    private Row(CpeColumnStore store, int row) {
+      this.store = store;
+      this.row = row;
+    }
+
+    /**
+     * Get the row number of the name in its store.
+     * 
+     * @return the row number
+     */
+    public int getRowNumber() {
+      return row;
+    }
+
+    @Override
+    public Object get(Attribute attribute) {
+      return store.getValue(store.columns[attribute.ordinal()].get(row));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The states are computed when the name is added, so this method does not read the values.
+     */
+    @Override
+    public int getAttributeStates() {
+      return store.states.get(row);
+    }
+
+    /**
+     * Creates an immutable copy of the name, which is held on the heap.
+     * 
+     * @return an immutable copy of the name
+     */
+    public CompactWellFormedName toCompact() {
+      return CompactWellFormedName.of(this);
+    }
+
+    @Override
+    public String toString() {
+      return toCompact().toString();
+    }
+  }
+}
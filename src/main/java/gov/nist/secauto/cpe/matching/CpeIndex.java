@@ -0,0 +1,279 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.Utilities;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * An inverted index over a collection of Well Formed Names, such as the entries of a CPE
+ * dictionary, that finds the entries matched by a pattern without comparing the pattern to every
+ * entry.
+ * <p>
+ * For each attribute, the index keeps a posting list of entry identifiers for each lowercase value,
+ * and separate posting lists for the logical values {@link LogicalValue#ANY} and
+ * {@link LogicalValue#NA}. A query intersects the candidates of every attribute the pattern
+ * constrains, starting with the most selective, and confirms each remaining candidate using a
+ * {@link CompiledCpePattern}, so the results are the same as calling
+ * {@link CPENameMatcher#isSuperset(WellFormedNameView, WellFormedNameView)} for every entry.
+ * <p>
+ * Names must not be modified after they are added. This class is not thread-safe when names are
+ * being added, but may be queried concurrently once populated.
+ */
+public class CpeIndex {
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+  private static final Comparator<IntList> BY_SIZE = new Comparator<IntList>() {
+    @Override
+    public int compare(IntList first, IntList second) {
+      return Integer.compare(first.size(), second.size());
+    }
+  };
+
+  private final List<WellFormedName> entries = new ArrayList<WellFormedName>();
+  private final AttributePostings[] postings = new AttributePostings[ATTRIBUTES.length];
+
+  /**
+   * Constructs a new, empty index.
+   */
+  public CpeIndex() {
+    for (Attribute attribute : ATTRIBUTES) {
+      postings[attribute.ordinal()] = new AttributePostings();
+    }
+  }
+
+  /**
+   * Adds a name to the index.
+   * 
+   * @param name
+   *          the name to add
+   * @return the identifier assigned to the name
+   */
+  public int add(WellFormedName name) {
+    int id = entries.size();
+    entries.add(name);
+    for (Attribute attribute : ATTRIBUTES) {
+      postings[attribute.ordinal()].add(name.get(attribute), id);
+    }
+    return id;
+  }
+
+  /**
+   * Adds each of the provided names to the index, assigning identifiers in iteration order.
+   * 
+   * @param names
+   *          the names to add
+   */
+  public void addAll(Collection<? extends WellFormedName> names) {
+    for (WellFormedName name : names) {
+      add(name);
+    }
+  }
+
+  /**
+   * Get the name associated with an identifier.
+   * 
+   * @param id
+   *          the identifier returned when the name was added
+   * @return the name
+   */
+  public WellFormedName get(int id) {
+    return entries.get(id);
+  }
+
+  /**
+   * Get the number of names in the index.
+   * 
+   * @return the number of names
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Finds the names in the index that are matched by the provided pattern, i.e. each name for which
+   * {@link CPENameMatcher#isSuperset(WellFormedNameView, WellFormedNameView)} is {@code true} when the
+   * pattern is the source and the name is the target.
+   * 
+   * @param pattern
+   *          the source pattern
+   * @return the identifiers of the matching names in ascending order
+   */
+  public int[] match(WellFormedName pattern) {
+    return match(new CompiledCpePattern(pattern));
+  }
+
+  /**
+   * Finds the names in the index that are matched by the provided pattern.
+   * 
+   * @param pattern
+   *          the compiled source pattern
+   * @return the identifiers of the matching names in ascending order
+   * @see #match(WellFormedName)
+   */
+  public int[] match(CompiledCpePattern pattern) {
+    // Collect the candidates for each attribute that narrows them. An ANY pattern value matches
+    // everything, and a value with leading special characters would require scanning every key, so
+    // neither is used.
+    List<IntList> constrained = new ArrayList<IntList>(ATTRIBUTES.length);
+    for (Attribute attribute : ATTRIBUTES) {
+      IntList candidates = postings[attribute.ordinal()].candidates(pattern, attribute);
+      if (candidates != null) {
+        if (candidates.size() == 0) {
+          return new int[0];
+        }
+        constrained.add(candidates);
+      }
+    }
+
+    IntList retval = new IntList();
+    if (constrained.isEmpty()) {
+      for (int id = 0; id < entries.size(); id++) {
+        if (pattern.isSuperset(entries.get(id))) {
+          retval.add(id);
+        }
+      }
+    } else {
+      // Intersect the candidates, starting with the most selective attribute, so that each step only
+      // searches the larger list for the remaining candidates.
+      Collections.sort(constrained, BY_SIZE);
+      IntList ids = constrained.get(0);
+      for (int i = 1; i < constrained.size() && ids.size() > 0; i++) {
+        ids = ids.intersect(constrained.get(i));
+      }
+
+      // Confirm each candidate using the exact algorithm.
+      for (int i = 0; i < ids.size(); i++) {
+        int id = ids.get(i);
+        if (pattern.isSuperset(entries.get(id))) {
+          retval.add(id);
+        }
+      }
+    }
+    return retval.toArray();
+  }
+
+  /**
+   * The posting lists for a single attribute.
+   */
+  private static final class AttributePostings {
+    private final IntList any = new IntList();
+    private final IntList na = new IntList();
+    private final NavigableMap<String, IntList> values = new TreeMap<String, IntList>();
+
+    private void add(Object value, int id) {
+      if (LogicalValue.ANY.equals(value)) {
+        any.add(id);
+      } else if (LogicalValue.NA.equals(value)) {
+        na.add(id);
+      } else {
+        String key = Utilities.toLowercase((String) value);
+        IntList list = values.get(key);
+        if (list == null) {
+          list = new IntList();
+          values.put(key, list);
+        }
+        list.add(id);
+      }
+    }
+
+    /**
+     * Get the posting lists of the names whose value for this attribute may be matched by the
+     * pattern.
+     * 
+     * @param pattern
+     *          the pattern
+     * @param attribute
+     *          the attribute these postings are for
+     * @return the sorted identifiers of the candidates, or {@code null} if the candidates cannot be
+     *         narrowed by this attribute
+     */
+    private IntList candidates(CompiledCpePattern pattern, Attribute attribute) {
+      Object value = pattern.get(attribute);
+      IntList retval = null;
+      if (LogicalValue.NA.equals(value)) {
+        // only NA is equal to NA, all other values are disjoint or a subset
+        retval = na;
+      } else if (value instanceof String) {
+        String str = (String) value;
+        if (str.charAt(0) != '*' && str.charAt(0) != '?') {
+          // Without leading special characters, a match must start at the beginning of the value, or
+          // following a single leading escape character.
+          String prefix = Utilities.substr(str, 0, pattern.getEnd(attribute));
+          List<IntList> lists = new ArrayList<IntList>();
+          addMatching(pattern, attribute, prefix, lists);
+          addMatching(pattern, attribute, Utilities.strcat("\\", prefix), lists);
+          retval = union(lists);
+        }
+      }
+      return retval;
+    }
+
+    /**
+     * Combines posting lists into a single sorted list. Each name has a single value for an
+     * attribute, so the posting lists of different values never share an identifier.
+     * 
+     * @param lists
+     *          the posting lists
+     * @return the sorted identifiers in all of the lists
+     */
+    private static IntList union(List<IntList> lists) {
+      IntList retval;
+      if (lists.size() == 1) {
+        retval = lists.get(0);
+      } else {
+        retval = new IntList();
+        for (IntList list : lists) {
+          retval.addAll(list);
+        }
+        retval.sort();
+      }
+      return retval;
+    }
+
+    private void addMatching(CompiledCpePattern pattern, Attribute attribute, String prefix, List<IntList> lists) {
+      for (Map.Entry<String, IntList> entry : values
+          .subMap(prefix, true, Utilities.strcat(prefix, String.valueOf(Character.MAX_VALUE)), false).entrySet()) {
+        Relation relation = pattern.compare(attribute, entry.getKey());
+        if (Relation.SUPERSET.equals(relation) || Relation.EQUAL.equals(relation)) {
+          lists.add(entry.getValue());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,278 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.Utilities;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index over a collection of patterns, such as vulnerable configurations, that finds the
+ * patterns matching a concrete name without comparing the name to every pattern.
+ * <p>
+ * Patterns are bucketed by their vendor and product values. Within each of these attributes,
+ * patterns with a literal value are keyed by the lowercase value, patterns with trailing special
+ * characters are keyed by the lowercase value preceding those characters, and patterns with
+ * {@link LogicalValue#ANY}, {@link LogicalValue#NA} or leading special characters are kept in
+ * separate buckets. The candidates for a name are the patterns found in both the vendor and the
+ * product buckets. {@link #match(WellFormedName)} confirms each candidate, so its results are the
+ * same as calling {@link CPENameMatcher#isSuperset(WellFormedNameView, WellFormedNameView)} with every
+ * pattern as the source.
+ * <p>
+ * Patterns must not be modified after they are added. This class is not thread-safe when patterns
+ * are being added, but may be queried concurrently once populated.
+ */
+public class CpePatternIndex {
+  private static final Attribute[] BUCKETED_ATTRIBUTES = { Attribute.VENDOR, Attribute.PRODUCT };
+
+  private final List<WellFormedName> patterns = new ArrayList<WellFormedName>();
+  private final List<CompiledCpePattern> compiledPatterns = new ArrayList<CompiledCpePattern>();
+  private final AttributeBuckets[] buckets = new AttributeBuckets[BUCKETED_ATTRIBUTES.length];
+
+  /**
+   * Constructs a new, empty index.
+   */
+  public CpePatternIndex() {
+    for (int i = 0; i < BUCKETED_ATTRIBUTES.length; i++) {
+      buckets[i] = new AttributeBuckets();
+    }
+  }
+
+  /**
+   * Adds a pattern to the index.
+   * 
+   * @param pattern
+   *          the pattern to add
+   * @return the identifier assigned to the pattern
+   */
+  public int add(WellFormedName pattern) {
+    int id = patterns.size();
+    CompiledCpePattern compiled = new CompiledCpePattern(pattern);
+    patterns.add(pattern);
+    compiledPatterns.add(compiled);
+    for (int i = 0; i < BUCKETED_ATTRIBUTES.length; i++) {
+      buckets[i].add(compiled, BUCKETED_ATTRIBUTES[i], id);
+    }
+    return id;
+  }
+
+  /**
+   * Adds each of the provided patterns to the index, assigning identifiers in iteration order.
+   * 
+   * @param patterns
+   *          the patterns to add
+   */
+  public void addAll(Collection<? extends WellFormedName> patterns) {
+    for (WellFormedName pattern : patterns) {
+      add(pattern);
+    }
+  }
+
+  /**
+   * Get the pattern associated with an identifier.
+   * 
+   * @param id
+   *          the identifier returned when the pattern was added
+   * @return the pattern
+   */
+  public WellFormedName get(int id) {
+    return patterns.get(id);
+  }
+
+  /**
+   * Get the number of patterns in the index.
+   * 
+   * @return the number of patterns
+   */
+  public int size() {
+    return patterns.size();
+  }
+
+  /**
+   * Finds the patterns that may match the provided name based on its vendor and product values. Every
+   * pattern that matches the name is included, but some of the returned patterns may not match it.
+   * 
+   * @param target
+   *          the name to find patterns for
+   * @return the identifiers of the candidate patterns in ascending order
+   */
+  public int[] candidates(WellFormedName target) {
+    List<List<IntList>> lists = new ArrayList<List<IntList>>(BUCKETED_ATTRIBUTES.length);
+    int smallest = -1;
+    int smallestCount = Integer.MAX_VALUE;
+    for (int i = 0; i < BUCKETED_ATTRIBUTES.length; i++) {
+      List<IntList> candidates = buckets[i].candidates(target.get(BUCKETED_ATTRIBUTES[i]));
+      int count = 0;
+      for (IntList list : candidates) {
+        count += list.size();
+      }
+      if (count < smallestCount) {
+        smallest = i;
+        smallestCount = count;
+      }
+      lists.add(candidates);
+    }
+
+    BitSet ids = toBitSet(lists.get(smallest));
+    for (int i = 0; i < lists.size() && !ids.isEmpty(); i++) {
+      if (i != smallest) {
+        ids.and(toBitSet(lists.get(i)));
+      }
+    }
+    return ids.stream().toArray();
+  }
+
+  /**
+   * Finds the patterns that match the provided name, i.e. each pattern for which
+   * {@link CPENameMatcher#isSuperset(WellFormedNameView, WellFormedNameView)} is {@code true} when the
+   * pattern is the source and the name is the target.
+   * 
+   * @param target
+   *          the name to find patterns for
+   * @return the identifiers of the matching patterns in ascending order
+   */
+  public int[] match(WellFormedName target) {
+    IntList retval = new IntList();
+    for (int id : candidates(target)) {
+      if (compiledPatterns.get(id).isSuperset(target)) {
+        retval.add(id);
+      }
+    }
+    return retval.toArray();
+  }
+
+  private static BitSet toBitSet(List<IntList> lists) {
+    BitSet retval = new BitSet();
+    for (IntList list : lists) {
+      for (int i = 0; i < list.size(); i++) {
+        retval.set(list.get(i));
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * The pattern buckets for a single attribute.
+   */
+  private static final class AttributeBuckets {
+    private final IntList any = new IntList();
+    private final IntList na = new IntList();
+    // patterns with a literal value, keyed by the lowercase value
+    private final Map<String, IntList> literals = new HashMap<String, IntList>();
+    // patterns with only trailing special characters, keyed by the lowercase value preceding them
+    private final Map<String, IntList> trailing = new HashMap<String, IntList>();
+    // patterns with leading special characters
+    private final IntList leading = new IntList();
+
+    private void add(CompiledCpePattern pattern, Attribute attribute, int id) {
+      Object value = pattern.get(attribute);
+      if (LogicalValue.ANY.equals(value)) {
+        any.add(id);
+      } else if (LogicalValue.NA.equals(value)) {
+        na.add(id);
+      } else {
+        String str = (String) value;
+        int end = pattern.getEnd(attribute);
+        if (str.charAt(0) == '*' || str.charAt(0) == '?') {
+          leading.add(id);
+        } else if (end == Utilities.strlen(str)) {
+          add(literals, str, id);
+        } else {
+          add(trailing, Utilities.substr(str, 0, end), id);
+        }
+      }
+    }
+
+    private static void add(Map<String, IntList> map, String key, int id) {
+      IntList list = map.get(key);
+      if (list == null) {
+        list = new IntList();
+        map.put(key, list);
+      }
+      list.add(id);
+    }
+
+    /**
+     * Get the buckets containing the patterns whose value for this attribute may match the provided
+     * value.
+     * 
+     * @param value
+     *          the value of the attribute in the name being matched
+     * @return the matching buckets
+     */
+    private List<IntList> candidates(Object value) {
+      List<IntList> retval = new ArrayList<IntList>();
+      if (LogicalValue.ANY.equals(value)) {
+        // only ANY is equal to ANY, all other values are a subset
+        retval.add(any);
+      } else if (LogicalValue.NA.equals(value)) {
+        retval.add(any);
+        retval.add(na);
+      } else if (!Utilities.containsWildcards((String) value)) {
+        // a value with unquoted wildcards is undefined for all patterns
+        String str = Utilities.toLowercase((String) value);
+        retval.add(any);
+        retval.add(leading);
+        // Without leading special characters, a pattern matches at the beginning of the value, or
+        // following a single leading escape character.
+        addPrefixMatches(str, retval);
+        if (str.charAt(0) == '\\') {
+          addPrefixMatches(Utilities.substr(str, 1, Utilities.strlen(str)), retval);
+        }
+      }
+      return retval;
+    }
+
+    private void addPrefixMatches(String str, List<IntList> lists) {
+      boolean escaped = Utilities.strchr(str, '\\', 0) != -1;
+      for (int end = 1; end <= Utilities.strlen(str); end++) {
+        String prefix = Utilities.substr(str, 0, end);
+        addIfPresent(trailing, prefix, lists);
+        // Escape characters in the value allow a literal pattern to match a longer value.
+        if (escaped || end == Utilities.strlen(str)) {
+          addIfPresent(literals, prefix, lists);
+        }
+      }
+    }
+
+    private static void addIfPresent(Map<String, IntList> map, String key, List<IntList> lists) {
+      IntList list = map.get(key);
+      if (list != null) {
+        lists.add(list);
+      }
+    }
+  }
+}
@@ -0,0 +1,192 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import gov.nist.secauto.cpe.common.AttributeStates;
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.Utilities;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
+
+/**
+ * A compact summary of a {@link WellFormedName} that can be used to prove that two names are
+ * disjoint using a few bit operations, without performing the full matching algorithm.
+ * <p>
+ * The signature records the kind of value held by each attribute: {@link LogicalValue#ANY},
+ * {@link LogicalValue#NA}, a simple string containing no '*', '?' or '\' characters, or any other
+ * string, as classified by {@link AttributeStates}. It also holds a 64-bit fingerprint of the
+ * lowercase part, vendor and product values. Comparing signatures can only prove disjointness. When
+ * {@link #provesDisjoint(CpeSignature)} returns {@code false}, the names may or may not be disjoint
+ * and the full algorithm must be used.
+ * <p>
+ * A signature reflects the name at the time it was created. Instances of this class are immutable.
+ */
+public final class CpeSignature {
+  private static final int BITS_PER_STATE = AttributeStates.BITS_PER_STATE;
+  // the low bit of each attribute's state
+  private static final int LOW_BITS = 0x155555;
+
+  private static final int PART_SHIFT = 56;
+  private static final int VENDOR_SHIFT = 28;
+  private static final int PRODUCT_SHIFT = 0;
+  private static final long PART_MASK = 0xFFL << PART_SHIFT;
+  private static final long VENDOR_MASK = 0xFFFFFFFL << VENDOR_SHIFT;
+  private static final long PRODUCT_MASK = 0xFFFFFFFL << PRODUCT_SHIFT;
+
+  private static final int FINGERPRINT_STATE_MASK;
+
+  static {
+    int mask = 0;
+    for (Attribute attribute : new Attribute[] { Attribute.PART, Attribute.VENDOR, Attribute.PRODUCT }) {
+      mask |= 1 << (attribute.ordinal() * BITS_PER_STATE);
+    }
+    FINGERPRINT_STATE_MASK = mask;
+  }
+
+  private final int states;
+  private final long fingerprint;
+
+  private CpeSignature(int states, long fingerprint) {
+    this.states = states;
+    this.fingerprint = fingerprint;
+  }
+
+  /**
+   * Creates the signature of the provided name.
+   * 
+   * @param wfn
+   *          the name to create the signature for
+   * @return the signature
+   */
+  public static CpeSignature of(WellFormedNameView wfn) {
+    int states = wfn.getAttributeStates();
+
+    long fingerprint = 0;
+    Object part = wfn.get(Attribute.PART);
+    if (part instanceof String && Utilities.strlen((String) part) == 1) {
+      fingerprint |= ((long) Character.toLowerCase(((String) part).charAt(0)) << PART_SHIFT) & PART_MASK;
+    } else {
+      fingerprint |= ((long) hash(part) << PART_SHIFT) & PART_MASK;
+    }
+    fingerprint |= ((long) hash(wfn.get(Attribute.VENDOR)) << VENDOR_SHIFT) & VENDOR_MASK;
+    fingerprint |= ((long) hash(wfn.get(Attribute.PRODUCT)) << PRODUCT_SHIFT) & PRODUCT_MASK;
+    return new CpeSignature(states, fingerprint);
+  }
+
+  private static int hash(Object value) {
+    if (!(value instanceof String)) {
+      return 0;
+    }
+    // Values are printable ASCII, so only ASCII letters are folded. This agrees with the case
+    // insensitive comparisons of the matcher in every default locale.
+    String str = (String) value;
+    int hash = 0;
+    for (int idx = 0, length = str.length(); idx < length; idx++) {
+      char ch = str.charAt(idx);
+      hash = 31 * hash + (ch >= 'A' && ch <= 'Z' ? ch + ('a' - 'A') : ch);
+    }
+    // spread the bits of the hash code, since only some of them are kept
+    hash ^= hash >>> 16;
+    hash *= 0x85ebca6b;
+    hash ^= hash >>> 13;
+    hash *= 0xc2b2ae35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+  /**
+   * Determines if comparing the name with this signature, as the source, to the name with the
+   * provided signature, as the target, would result in at least one disjoint attribute.
+   * 
+   * @param target
+   *          the signature of the target name
+   * @return {@code true} if the names are known to be disjoint, or {@code false} if they may or may
+   *         not be disjoint
+   */
+  public boolean provesDisjoint(CpeSignature target) {
+    int sourceLow = states & LOW_BITS;
+    int sourceHigh = (states >>> 1) & LOW_BITS;
+    int targetLow = target.states & LOW_BITS;
+    int targetHigh = (target.states >>> 1) & LOW_BITS;
+
+    // NA is disjoint with a string that cannot contain wildcards
+    int sourceNa = sourceLow & ~sourceHigh;
+    int targetSimple = targetHigh & ~targetLow;
+    if ((sourceNa & targetSimple) != 0) {
+      return true;
+    }
+    // any string is disjoint with NA
+    int targetNa = targetLow & ~targetHigh;
+    if ((sourceHigh & targetNa) != 0) {
+      return true;
+    }
+
+    // Simple strings are only related if they are equal.
+    int bothSimple = sourceHigh & ~sourceLow & targetSimple & FINGERPRINT_STATE_MASK;
+    if (bothSimple != 0) {
+      long mask = 0;
+      if ((bothSimple & (1 << (Attribute.PART.ordinal() * BITS_PER_STATE))) != 0) {
+        mask |= PART_MASK;
+      }
+      if ((bothSimple & (1 << (Attribute.VENDOR.ordinal() * BITS_PER_STATE))) != 0) {
+        mask |= VENDOR_MASK;
+      }
+      if ((bothSimple & (1 << (Attribute.PRODUCT.ordinal() * BITS_PER_STATE))) != 0) {
+        mask |= PRODUCT_MASK;
+      }
+      return ((fingerprint ^ target.fingerprint) & mask) != 0;
+    }
+    return false;
+  }
+
+  /**
+   * Get the fingerprint of the lowercase part, vendor and product values.
+   * 
+   * @return the fingerprint
+   */
+  public long getFingerprint() {
+    return fingerprint;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * states + Long.hashCode(fingerprint);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof CpeSignature)) {
+      return false;
+    }
+    CpeSignature other = (CpeSignature) obj;
+    return states == other.states && fingerprint == other.fingerprint;
+  }
+}
@@ -0,0 +1,161 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive int values used to hold posting lists of name identifiers.
+ */
+final class IntList {
+  private static final int[] EMPTY = new int[0];
+
+  private int[] values = EMPTY;
+  private int size;
+
+  /**
+   * Appends a value to the end of the list.
+   * 
+   * @param value
+   *          the value to append
+   */
+  void add(int value) {
+    if (size == values.length) {
+      values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+    }
+    values[size++] = value;
+  }
+
+  /**
+   * Get the value at the provided index.
+   * 
+   * @param index
+   *          the index of the value
+   * @return the value
+   */
+  int get(int index) {
+    return values[index];
+  }
+
+  /**
+   * Get the number of values in the list.
+   * 
+   * @return the number of values
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Appends all values of another list to the end of this list.
+   * 
+   * @param other
+   *          the list whose values to append
+   */
+  void addAll(IntList other) {
+    if (size + other.size > values.length) {
+      values = Arrays.copyOf(values, Math.max(size + other.size, size + (size >> 1)));
+    }
+    System.arraycopy(other.values, 0, values, size, other.size);
+    size += other.size;
+  }
+
+  /**
+   * Sorts the values in the list in ascending order.
+   */
+  void sort() {
+    Arrays.sort(values, 0, size);
+  }
+
+  /**
+   * Finds the values contained in both this list and another. Both lists must be sorted in ascending
+   * order. Each value of this list is located in the other list by galloping forward from the
+   * previous position, so the cost depends mostly on the size of this list, which should be the
+   * smaller of the two.
+   * 
+   * @param other
+   *          the sorted list to intersect with
+   * @return a new sorted list of the values in both lists
+   */
+  IntList intersect(IntList other) {
+    IntList retval = new IntList();
+    int position = 0;
+    for (int i = 0; i < size && position < other.size; i++) {
+      int value = values[i];
+      position = other.advance(position, value);
+      if (position < other.size && other.values[position] == value) {
+        retval.add(value);
+        position++;
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Finds the index of the first value that is not less than the target, searching from the provided
+   * index. The list must be sorted in ascending order.
+   * 
+   * @param from
+   *          the index to start searching from
+   * @param target
+   *          the value to search for
+   * @return the index of the first value not less than the target, or the size of the list if there
+   *         is no such value
+   */
+  private int advance(int from, int target) {
+    // double the step until the target is passed, then binary search the last step
+    int low = from;
+    int step = 1;
+    while (low + step < size && values[low + step] < target) {
+      low += step;
+      step <<= 1;
+    }
+    if (low >= size || values[low] >= target) {
+      return low;
+    }
+    int high = Math.min(low + step, size);
+    low++;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (values[mid] < target) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Get a copy of the values in the list.
+   * 
+   * @return the values
+   */
+  int[] toArray() {
+    return Arrays.copyOf(values, size);
+  }
+}
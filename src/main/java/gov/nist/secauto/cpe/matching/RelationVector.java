@@ -0,0 +1,213 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The relation of each attribute value pair resulting from the comparison of two Well Formed Names,
+ * packed into a single {@code long}. Each {@link Attribute} occupies 3 bits, ordered by the ordinal
+ * of the attribute, that hold the ordinal of the associated {@link Relation}.
+ * 
+ * @see CPENameMatcher#compareAttributes(gov.nist.secauto.cpe.common.WellFormedNameView,
+ *      gov.nist.secauto.cpe.common.WellFormedNameView)
+ */
+public final class RelationVector {
+  private static final int BITS_PER_ATTRIBUTE = 3;
+  private static final long MASK = (1L << BITS_PER_ATTRIBUTE) - 1;
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+  private static final Relation[] RELATIONS = Relation.values();
+
+  private final long bits;
+
+  private RelationVector(long bits) {
+    this.bits = bits;
+  }
+
+  /**
+   * Get the vector represented by the provided packed value.
+   * 
+   * @param bits
+   *          a packed value previously produced by {@link #toLong()}
+   * @return the vector
+   */
+  public static RelationVector valueOf(long bits) {
+    return new RelationVector(bits);
+  }
+
+  /**
+   * Sets the relation of an attribute within a packed value.
+   * 
+   * @param bits
+   *          the packed value to update
+   * @param attribute
+   *          the attribute to set the relation for
+   * @param relation
+   *          the relation to set
+   * @return the updated packed value
+   */
+  static long with(long bits, Attribute attribute, Relation relation) {
+    int shift = attribute.ordinal() * BITS_PER_ATTRIBUTE;
+    return (bits & ~(MASK << shift)) | ((long) relation.ordinal() << shift);
+  }
+
+  /**
+   * Get the relation of the provided attribute.
+   * 
+   * @param attribute
+   *          the attribute to get the relation for
+   * @return the relation between the source and target values of the attribute
+   */
+  public Relation get(Attribute attribute) {
+    return RELATIONS[(int) ((bits >>> (attribute.ordinal() * BITS_PER_ATTRIBUTE)) & MASK)];
+  }
+
+  /**
+   * Get the packed representation of this vector.
+   * 
+   * @return the packed value
+   */
+  public long toLong() {
+    return bits;
+  }
+
+  /**
+   * Determines if any attribute has the provided relation.
+   * 
+   * @param relation
+   *          the relation to look for
+   * @return {@code true} if any attribute has the relation, or {@code false} otherwise
+   */
+  public boolean contains(Relation relation) {
+    for (Attribute attribute : ATTRIBUTES) {
+      if (relation.equals(get(attribute))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines if every attribute has one of the provided relations.
+   * 
+   * @param relation
+   *          the first acceptable relation
+   * @param other
+   *          the second acceptable relation
+   * @return {@code true} if every attribute has one of the relations, or {@code false} otherwise
+   */
+  private boolean containsOnly(Relation relation, Relation other) {
+    for (Attribute attribute : ATTRIBUTES) {
+      Relation result = get(attribute);
+      if (!relation.equals(result) && !other.equals(result)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Tests the compared names for disjointness.
+   * 
+   * @return true if the names are disjoint, false otherwise
+   * @see CPENameMatcher#isDisjoint(gov.nist.secauto.cpe.common.WellFormedNameView,
+   *      gov.nist.secauto.cpe.common.WellFormedNameView)
+   */
+  public boolean isDisjoint() {
+    return contains(Relation.DISJOINT);
+  }
+
+  /**
+   * Tests the compared names for equality.
+   * 
+   * @return true if the names are equal, false otherwise
+   * @see CPENameMatcher#isEqual(gov.nist.secauto.cpe.common.WellFormedNameView,
+   *      gov.nist.secauto.cpe.common.WellFormedNameView)
+   */
+  public boolean isEqual() {
+    return containsOnly(Relation.EQUAL, Relation.EQUAL);
+  }
+
+  /**
+   * Tests if every attribute comparison is a subset or equal.
+   * 
+   * @return true if every comparison is a subset or equal, false otherwise
+   * @see CPENameMatcher#isSubset(gov.nist.secauto.cpe.common.WellFormedNameView,
+   *      gov.nist.secauto.cpe.common.WellFormedNameView)
+   */
+  public boolean isSubset() {
+    return containsOnly(Relation.SUBSET, Relation.EQUAL);
+  }
+
+  /**
+   * Tests if every attribute comparison is a superset or equal.
+   * 
+   * @return true if every comparison is a superset or equal, false otherwise
+   * @see CPENameMatcher#isSuperset(gov.nist.secauto.cpe.common.WellFormedNameView,
+   *      gov.nist.secauto.cpe.common.WellFormedNameView)
+   */
+  public boolean isSuperset() {
+    return containsOnly(Relation.SUPERSET, Relation.EQUAL);
+  }
+
+  /**
+   * Get the relation of each attribute as a map.
+   * 
+   * @return a map of each attribute to its relation, in attribute order
+   */
+  public Map<Attribute, Relation> toMap() {
+    Map<Attribute, Relation> retval = new EnumMap<Attribute, Relation>(Attribute.class);
+    for (Attribute attribute : ATTRIBUTES) {
+      retval.put(attribute, get(attribute));
+    }
+    return retval;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(bits);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof RelationVector)) {
+      return false;
+    }
+    return bits == ((RelationVector) obj).bits;
+  }
+
+  @Override
+  public String toString() {
+    return toMap().toString();
+  }
+}
@@ -52,8 +52,8 @@
 package gov.nist.secauto.cpe.naming;
 
 import gov.nist.secauto.cpe.common.LogicalValue;
-import gov.nist.secauto.cpe.common.Utilities;
 import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
 
 /**
  * The CPENameBinder class is a simple implementation of the CPE Name binding algorithm, as
@@ -84,34 +84,41 @@ public class CPENameBinder {
    * @param wfn
    *          WellFormedName to be bound to URI
    * @return URI binding of WFN
+   * @see #bindToURI(WellFormedNameView)
    */
   public static String bindToURI(WellFormedName wfn) {
+    return bindToURI((WellFormedNameView) wfn);
+  }
+
+  /**
+   * Binds a {@link WellFormedNameView} to a URI.
+   * 
+   * @param wfn
+   *          WellFormedName to be bound to URI
+   * @return URI binding of WFN
+   */
+  public static String bindToURI(WellFormedNameView wfn) {
 
     // Initialize the output with the CPE v2.2 URI prefix.
-    String uri = "cpe:/";
+    StringBuilder uri = new StringBuilder(64).append("cpe:/");
 
     // Iterate over the well formed name
     for (WellFormedName.Attribute attr : URI_ATTRIBUTES) {
-      String value = "";
       if (WellFormedName.Attribute.EDITION.equals(attr)) {
         // Call the pack() helper function to compute the proper
         // binding for the edition element.
-        String edition = bindValueForURI(wfn.get(WellFormedName.Attribute.EDITION));
-        String swEdition = bindValueForURI(wfn.get(WellFormedName.Attribute.SW_EDITION));
-        String targetSoftware = bindValueForURI(wfn.get(WellFormedName.Attribute.TARGET_SW));
-        String targetHardware = bindValueForURI(wfn.get(WellFormedName.Attribute.TARGET_HW));
-        String other = bindValueForURI(wfn.get(WellFormedName.Attribute.OTHER));
-        value = pack(edition, swEdition, targetSoftware, targetHardware, other);
+        pack(wfn, uri);
       } else {
         // Get the value for attr in wfn, then bind to a string
         // for inclusion in the URI.
-        value = bindValueForURI(wfn.get(attr));
+        bindValueForURI(wfn.get(attr), uri);
       }
-      // Append value to the URI then add a colon.
-      uri = Utilities.strcat(uri, value, ":");
+      // Add a colon after the value.
+      uri.append(':');
     }
     // Return the URI string, with trailing colons trimmed.
-    return trim(uri);
+    trim(uri);
+    return uri.toString();
   }
 
   /**
@@ -120,19 +127,30 @@ public class CPENameBinder {
    * @param wfn
    *          WellFormedName to bind
    * @return Formatted String
+   * @see #bindToFS(WellFormedNameView)
    */
   public static String bindToFS(WellFormedName wfn) {
+    return bindToFS((WellFormedNameView) wfn);
+  }
+
+  /**
+   * Binds a {@link WellFormedNameView} to a formatted string.
+   * 
+   * @param wfn
+   *          WellFormedName to bind
+   * @return Formatted String
+   */
+  public static String bindToFS(WellFormedNameView wfn) {
     // Initialize the output with the CPE v2.3 string prefix.
-    String fs = "cpe:2.3:";
+    StringBuilder fs = new StringBuilder(64).append("cpe:2.3:");
     for (WellFormedName.Attribute attr : WellFormedName.Attribute.values()) {
-      String value = bindValueForFS(wfn.get(attr));
-      fs = Utilities.strcat(fs, value);
+      bindValueForFS(wfn.get(attr), fs);
       // add a colon except at the very end
       if (!WellFormedName.Attribute.OTHER.equals(attr)) {
-        fs = Utilities.strcat(fs, ":");
+        fs.append(':');
       }
     }
-    return fs;
+    return fs.toString();
   }
 
   /**
@@ -140,21 +158,16 @@ public class CPENameBinder {
    * 
    * @param value
    *          value to convert
-   * @return Formatted value
+   * @param out
+   *          the builder to append the formatted value to
    */
-  private static String bindValueForFS(Object value) {
+  private static void bindValueForFS(Object value, StringBuilder out) {
     if (value instanceof LogicalValue) {
-      LogicalValue logicalValue = (LogicalValue) value;
-      // The value NA binds to a blank.
-      if (LogicalValue.ANY.equals(logicalValue)) {
-        return "*";
-      }
-      // The value NA binds to a single hyphen.
-      if (LogicalValue.NA.equals(logicalValue)) {
-        return "-";
-      }
+      // The value ANY binds to an asterisk, and NA binds to a single hyphen.
+      out.append(LogicalValue.ANY.equals(value) ? '*' : '-');
+    } else {
+      processQuotedChars((String) value, out);
     }
-    return processQuotedChars((String) value);
   }
 
   /**
@@ -165,34 +178,29 @@ public class CPENameBinder {
    * 
    * @param str
    *          the string to process
-   * @return the processed string result
+   * @param out
+   *          the builder to append the processed string to
    */
-  private static String processQuotedChars(String str) {
-    String result = "";
-    int index = 0;
-    while (index < Utilities.strlen(str)) {
-      String ch = Utilities.substr(str, index, index + 1);
-      if (!ch.equals("\\")) {
+  private static void processQuotedChars(String str, StringBuilder out) {
+    int length = str.length();
+    for (int index = 0; index < length; index++) {
+      char ch = str.charAt(index);
+      if (ch != '\\') {
         // unquoted characters pass thru unharmed.
-        result = Utilities.strcat(result, ch);
-      } else {
-        // escaped characters are examined.
-        String nextchr = Utilities.substr(str, index + 1, index + 2);
-        // the period, hyphen and underscore pass unharmed.
-        if (nextchr.equals(".") || nextchr.equals("-") || nextchr.equals("_")) {
-          result = Utilities.strcat(result, nextchr);
-          index = index + 2;
-          continue;
-        } else {
-          // all others retain escaping.
-          result = Utilities.strcat(result, "\\", nextchr);
-          index = index + 2;
-          continue;
-        }
+        out.append(ch);
+        continue;
       }
+      // escaped characters are examined.
       index = index + 1;
+      char nextchr = str.charAt(index);
+      if (nextchr == '.' || nextchr == '-' || nextchr == '_') {
+        // the period, hyphen and underscore pass unharmed.
+        out.append(nextchr);
+      } else {
+        // all others retain escaping.
+        out.append('\\').append(nextchr);
+      }
     }
-    return result;
   }
 
   /**
@@ -201,23 +209,19 @@ public class CPENameBinder {
    * 
    * @param value
    *          the value to be converted
-   * @return the converted string
+   * @param out
+   *          the builder to append the converted string to
    */
-  private static String bindValueForURI(Object value) {
+  private static void bindValueForURI(Object value, StringBuilder out) {
     if (value instanceof LogicalValue) {
-      LogicalValue logicalValue = (LogicalValue) value;
-      // The value NA binds to a blank.
-      if (LogicalValue.ANY.equals(logicalValue)) {
-        return "";
-      }
-      // The value NA binds to a single hyphen.
-      if (LogicalValue.NA.equals(logicalValue)) {
-        return "-";
+      // The value ANY binds to a blank, and NA binds to a single hyphen.
+      if (LogicalValue.NA.equals(value)) {
+        out.append('-');
       }
+    } else {
+      // If we get here, we're dealing with a string value.
+      transformForURI((String) value, out);
     }
-
-    // If we get here, we're dealing with a string value.
-    return transformForURI((String) value);
   }
 
   /**
@@ -233,197 +237,76 @@ public class CPENameBinder {
    * 
    * @param str
    *          string to be transformed
-   * @return transformed string
+   * @param out
+   *          the builder to append the transformed string to
    */
-  private static String transformForURI(String str) {
-    String result = "";
-    int idx = 0;
-
-    while (idx < Utilities.strlen(str)) {
+  private static void transformForURI(String str, StringBuilder out) {
+    int length = str.length();
+    for (int idx = 0; idx < length; idx++) {
       // Get the idx'th character of s.
-      String thischar = Utilities.substr(str, idx, idx + 1);
-      // Alphanumerics (incl. underscore) pass untouched.
-      if (Utilities.isAlphanum(thischar)) {
-        result = Utilities.strcat(result, thischar);
+      char thischar = str.charAt(idx);
+      if ((thischar >= 'a' && thischar <= 'z') || (thischar >= 'A' && thischar <= 'Z')
+          || (thischar >= '0' && thischar <= '9') || thischar == '_') {
+        // Alphanumerics (incl. underscore) pass untouched.
+        out.append(thischar);
+      } else if (thischar == '\\') {
+        // Percent-encode the escaped character.
         idx = idx + 1;
-        continue;
+        PercentCodec.encode(str.charAt(idx), out);
+      } else if (thischar == '?') {
+        // Bind the unquoted '?' special character to "%01".
+        out.append("%01");
+      } else if (thischar == '*') {
+        // Bind the unquoted '*' special character to "%02".
+        out.append("%02");
       }
-      // Check for escape character.
-      if (thischar.equals("\\")) {
-        idx = idx + 1;
-        String nxtchar = Utilities.substr(str, idx, idx + 1);
-        result = Utilities.strcat(result, pctEncode(nxtchar));
-        idx = idx + 1;
-        continue;
-      }
-      // Bind the unquoted '?' special character to "%01".
-      if (thischar.equals("?")) {
-        result = Utilities.strcat(result, "%01");
-      }
-      // Bind the unquoted '*' special character to "%02".
-      if (thischar.equals("*")) {
-        result = Utilities.strcat(result, "%02");
-      }
-      idx = idx + 1;
     }
-    return result;
   }
 
   /**
-   * Returns the appropriate percent-encoding of character c. Certain characters are returned without
-   * encoding.
+   * Packs the values of the edition, sw_edition, target_sw, target_hw and other attributes into the
+   * single edition component. If the values of all but the edition are blank, only the edition is
+   * bound.
    * 
-   * @param ch
-   *          the single character string to be encoded
-   * @return the percent encoded string
-   */
-  private static String pctEncode(String ch) {
-    if (ch.equals("!")) {
-      return "%21";
-    }
-    if (ch.equals("\"")) {
-      return "%22";
-    }
-    if (ch.equals("#")) {
-      return "%23";
-    }
-    if (ch.equals("$")) {
-      return "%24";
-    }
-    if (ch.equals("%")) {
-      return "%25";
-    }
-    if (ch.equals("&")) {
-      return "%26";
-    }
-    if (ch.equals("'")) {
-      return "%27";
-    }
-    if (ch.equals("(")) {
-      return "%28";
-    }
-    if (ch.equals(")")) {
-      return "%29";
-    }
-    if (ch.equals("*")) {
-      return "%2a";
-    }
-    if (ch.equals("+")) {
-      return "%2b";
-    }
-    if (ch.equals(",")) {
-      return "%2c";
-    }
-    // bound without encoding.
-    if (ch.equals("-")) {
-      return ch;
-    }
-    // bound without encoding.
-    if (ch.equals(".")) {
-      return ch;
-    }
-    if (ch.equals("/")) {
-      return "%2f";
-    }
-    if (ch.equals(":")) {
-      return "%3a";
-    }
-    if (ch.equals(";")) {
-      return "%3b";
-    }
-    if (ch.equals("<")) {
-      return "%3c";
-    }
-    if (ch.equals("=")) {
-      return "%3d";
-    }
-    if (ch.equals(">")) {
-      return "%3e";
-    }
-    if (ch.equals("?")) {
-      return "%3f";
-    }
-    if (ch.equals("@")) {
-      return "%40";
-    }
-    if (ch.equals("[")) {
-      return "%5b";
-    }
-    if (ch.equals("\\")) {
-      return "%5c";
-    }
-    if (ch.equals("]")) {
-      return "%5d";
-    }
-    if (ch.equals("^")) {
-      return "%5e";
-    }
-    if (ch.equals("`")) {
-      return "%60";
-    }
-    if (ch.equals("{")) {
-      return "%7b";
-    }
-    if (ch.equals("|")) {
-      return "%7c";
-    }
-    if (ch.equals("}")) {
-      return "%7d";
-    }
-    if (ch.equals("~")) {
-      return "%7d";
-    }
-    // Shouldn't reach here, return original character
-    return ch;
-  }
-
-  /**
-   * Packs the values of the five arguments into the single edition component. If all the values are
-   * blank, the function returns a blank.
-   * 
-   * @param edition
-   *          edition string
-   * @param swEdition
-   *          software edition string
-   * @param targetSoftware
-   *          target software string
-   * @param targetHardware
-   *          target hardware string
-   * @param other
-   *          other edition information string
-   * @return the packed string, or blank
+   * @param wfn
+   *          the WellFormedName containing the values to pack
+   * @param uri
+   *          the builder to append the packed edition component to
    */
-  private static String pack(String edition, String swEdition, String targetSoftware, String targetHardware,
-      String other) {
-    if (swEdition.equals("") && targetSoftware.equals("") && targetHardware.equals("") && other.equals("")) {
+  private static void pack(WellFormedNameView wfn, StringBuilder uri) {
+    // Pack the five values into a single string
+    // prefixed and internally delimited with the tilde.
+    int start = uri.length();
+    uri.append('~');
+    bindValueForURI(wfn.get(WellFormedName.Attribute.EDITION), uri);
+    int editionEnd = uri.length();
+    uri.append('~');
+    bindValueForURI(wfn.get(WellFormedName.Attribute.SW_EDITION), uri);
+    uri.append('~');
+    bindValueForURI(wfn.get(WellFormedName.Attribute.TARGET_SW), uri);
+    uri.append('~');
+    bindValueForURI(wfn.get(WellFormedName.Attribute.TARGET_HW), uri);
+    uri.append('~');
+    bindValueForURI(wfn.get(WellFormedName.Attribute.OTHER), uri);
+    if (uri.length() - editionEnd == 4) {
       // All the extended attributes are blank, so don't do
-      // any packing, just return ed.
-      return edition;
+      // any packing, just keep the edition.
+      uri.setLength(editionEnd);
+      uri.deleteCharAt(start);
     }
-    // Otherwise, pack the five values into a single string
-    // prefixed and internally delimited with the tilde.
-    return Utilities.strcat("~", edition, "~", swEdition, "~", targetSoftware, "~", targetHardware, "~", other);
   }
 
   /**
    * Removes trailing colons from the URI.
    * 
-   * @param str
-   *          the string to be trimmed
-   * @return the trimmed string
+   * @param uri
+   *          the builder holding the URI to be trimmed
    */
-  private static String trim(String str) {
-    String s1 = Utilities.reverse(str);
-    int idx = 0;
-    for (int i = 0; i != Utilities.strlen(s1); i++) {
-      if (Utilities.substr(s1, i, i + 1).equals(":")) {
-        idx = idx + 1;
-      } else {
-        break;
-      }
+  private static void trim(StringBuilder uri) {
+    int length = uri.length();
+    while (length > 0 && uri.charAt(length - 1) == ':') {
+      length--;
     }
-    // Return the substring after all trailing colons,
-    // reversed back to its original character order.
-    return Utilities.reverse(Utilities.substr(s1, idx, Utilities.strlen(s1)));
+    uri.setLength(length);
   }
 }
@@ -52,7 +52,10 @@
 package gov.nist.secauto.cpe.naming;
 
 import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.ParseError;
+import gov.nist.secauto.cpe.common.ParseResult;
 import gov.nist.secauto.cpe.common.Utilities;
+import gov.nist.secauto.cpe.common.ValueInterner;
 import gov.nist.secauto.cpe.common.WellFormedName;
 
 import java.text.ParseException;
@@ -68,6 +71,12 @@ import java.text.ParseException;
  * @author <a href="mailto:david.waltermire@nist.gov">David Waltermire</a>
  */
 public class CPENameUnbinder {
+  /**
+   * The attributes packed into the edition component of a URI, in the order they are packed.
+   */
+  private static final WellFormedName.Attribute[] PACKED_ATTRIBUTES = { WellFormedName.Attribute.EDITION,
+      WellFormedName.Attribute.SW_EDITION, WellFormedName.Attribute.TARGET_SW, WellFormedName.Attribute.TARGET_HW,
+      WellFormedName.Attribute.OTHER };
 
   private CPENameUnbinder() {
     // disable construction
@@ -83,36 +92,145 @@ public class CPENameUnbinder {
    *           if the provided uri is invalid
    */
   public static WellFormedName unbindURI(String uri) throws ParseException {
-    // Validate the URI
-    Utilities.validateURI(uri);
-    // Initialize the empty WFN.
-    WellFormedName result = new WellFormedName();
-
-    for (int i = 0; i != 8; i++) {
-      // get the i'th component of uri
-      String value = getCompURI(uri, i);
-      if (i > 0) {
-        // Get the WFN component using the enum ordinal
-        WellFormedName.Attribute attribute = WellFormedName.Attribute.values()[i - 1];
-
-        if (WellFormedName.Attribute.EDITION.equals(attribute)) {
-          // Special handling for edition component.
-          // Unpack edition if needed.
-          if (value.equals("") || value.equals("-") || !Utilities.substr(value, 0, 1).equals("~")) {
-            // Just a logical value or a non-packed value.
-            // So unbind to legacy edition, leaving other
-            // extended attributes unspecified.
-            result.set(attribute, decode(value));
-          } else {
-            // We have five values packed together here.
-            unpack(value, result);
-          }
-        } else {
-          result.set(attribute, decode(value));
-        }
+    return unbindURI(uri, null);
+  }
+
+  /**
+   * Unbinds a URI held in a {@link CharSequence} to a WFN. The sequence is read in place, as
+   * described by {@link #unbindFS(CharSequence)}.
+   * 
+   * @param uri
+   *          the URI to be unbound
+   * @return WellFormedName representing the unbound URI
+   * @throws ParseException
+   *           if the provided uri is invalid
+   */
+  public static WellFormedName unbindURI(CharSequence uri) throws ParseException {
+    return unbindURI(uri, null);
+  }
+
+  /**
+   * Unbinds a URI to a WFN, replacing each attribute value with its canonical instance from the
+   * provided interner. This allows names unbound from a large dictionary to share a single instance
+   * of each repeated value.
+   * 
+   * @param uri
+   *          String representing the URI to be unbound
+   * @param interner
+   *          the interner supplying canonical attribute values, or {@code null} to use the unbound
+   *          values as-is
+   * @return WellFormedName representing the unbound URI
+   * @throws ParseException
+   *           if the provided uri is invalid
+   */
+  public static WellFormedName unbindURI(CharSequence uri, ValueInterner interner) throws ParseException {
+    return unbindURI(uri, interner, false).getOrThrow();
+  }
+
+  /**
+   * Unbinds a URI to a WFN without throwing an exception if the URI is invalid. This is intended for
+   * bulk processing of input where invalid names are expected, as the cost of creating and throwing a
+   * {@link ParseException} for each invalid name is avoided.
+   * 
+   * @param uri
+   *          String representing the URI to be unbound
+   * @return the unbound WellFormedName, or the error that prevented the URI from being unbound
+   */
+  public static ParseResult tryUnbindURI(CharSequence uri) {
+    return unbindURI(uri, null, false);
+  }
+
+  /**
+   * Unbinds a URI to a WFN without throwing an exception if the URI is invalid, as described by
+   * {@link #tryUnbindURI(CharSequence)}, replacing each attribute value with its canonical instance from the
+   * provided interner.
+   * 
+   * @param uri
+   *          String representing the URI to be unbound
+   * @param interner
+   *          the interner supplying canonical attribute values, or {@code null} to use the unbound
+   *          values as-is
+   * @return the unbound WellFormedName, or the error that prevented the URI from being unbound
+   */
+  public static ParseResult tryUnbindURI(CharSequence uri, ValueInterner interner) {
+    return unbindURI(uri, interner, false);
+  }
+
+  /**
+   * Unbinds a URI that is known to be valid, such as one taken from a dictionary that has already
+   * been validated, to a WFN. The URI is not validated, and the unbound values are set without the
+   * checks performed by {@link WellFormedName#set(WellFormedName.Attribute, Object)}. Only errors that
+   * prevent the URI from being decoded are detected; the result of unbinding any other invalid URI is
+   * undefined.
+   * 
+   * @param uri
+   *          String representing the valid URI to be unbound
+   * @return WellFormedName representing the unbound URI
+   * @throws ParseException
+   *           if the URI cannot be decoded
+   */
+  public static WellFormedName unbindTrustedURI(CharSequence uri) throws ParseException {
+    return unbindURI(uri, null, true).getOrThrow();
+  }
+
+  /**
+   * Unbinds a URI that is known to be valid to a WFN, as described by
+   * {@link #unbindTrustedURI(CharSequence)}, replacing each attribute value with its canonical instance from
+   * the provided interner.
+   * 
+   * @param uri
+   *          String representing the valid URI to be unbound
+   * @param interner
+   *          the interner supplying canonical attribute values, or {@code null} to use the unbound
+   *          values as-is
+   * @return WellFormedName representing the unbound URI
+   * @throws ParseException
+   *           if the URI cannot be decoded
+   */
+  public static WellFormedName unbindTrustedURI(CharSequence uri, ValueInterner interner) throws ParseException {
+    return unbindURI(uri, interner, true).getOrThrow();
+  }
+
+  private static ParseResult unbindURI(CharSequence uri, ValueInterner interner, boolean trusted) {
+    if (!trusted) {
+      // Validate the URI
+      ParseResult invalid = Utilities.tryValidateURI(uri);
+      if (invalid != null) {
+        return invalid;
+      }
+    }
+    // Collect the unbound values, so the WFN is only constructed once they are all known.
+    WellFormedName.Builder result = WellFormedName.builder();
+    // Find the colons delimiting the components in a single scan.
+    int[] colons = getColonIndexesURI(uri);
+
+    // The cpe scheme is the 0th component, so we start parsing at the 1st component.
+    for (int i = 1; i != 8; i++) {
+      // Locate the i'th component of uri. A missing component is blank.
+      int begin = Math.min(colons[i - 1] + 1, colons[i]);
+      int end = colons[i];
+      if (i == 1 && begin < end) {
+        // skip the '/' that precedes the part
+        begin = begin + 1;
+      }
+      // Get the WFN component using the enum ordinal
+      WellFormedName.Attribute attribute = WellFormedName.Attribute.values()[i - 1];
+
+      ParseResult failure;
+      if (WellFormedName.Attribute.EDITION.equals(attribute) && begin < end && uri.charAt(begin) == '~') {
+        // We have five values packed together here.
+        failure = unpack(uri, begin, end, result, interner, trusted);
+      } else {
+        // Just a logical value or a non-packed value.
+        // So unbind to legacy edition, leaving other
+        // extended attributes unspecified.
+        failure = set(result, attribute, uri, begin, end, interner, trusted);
+      }
+      if (failure != null) {
+        return failure;
       }
     }
-    return result;
+    return ParseResult.success(result.buildTrusted());
   }
 
   /**
@@ -125,358 +243,534 @@ public class CPENameUnbinder {
    *           if the fs argument is malformed
    */
   public static WellFormedName unbindFS(String fs) throws ParseException {
-    // Validate the formatted string
-    Utilities.validateFS(fs);
-    // Initialize empty WFN
-    WellFormedName result = new WellFormedName();
+    return unbindFS(fs, null);
+  }
+
+  /**
+   * Unbinds a formatted string held in a {@link CharSequence} to a WFN. The sequence is read in
+   * place, so a formatted string held in a buffer, such as an
+   * {@link gov.nist.secauto.cpe.common.AsciiCharSequence} view of a memory-mapped file, can be
+   * unbound without first copying it into a {@link String}. Only the resulting attribute values are
+   * created as new strings.
+   * 
+   * @param fs
+   *          Formatted string to unbind
+   * @return WellFormedName representing the unbound formatted string
+   * @throws ParseException
+   *           if the fs argument is malformed
+   */
+  public static WellFormedName unbindFS(CharSequence fs) throws ParseException {
+    return unbindFS(fs, null);
+  }
+
+  /**
+   * Unbinds a formatted string to a WFN, replacing each attribute value with its canonical instance
+   * from the provided interner. The formatted string is read in place, as described by
+   * {@link #unbindFS(CharSequence)}.
+   * 
+   * @param fs
+   *          Formatted string to unbind
+   * @param interner
+   *          the interner supplying canonical attribute values, or {@code null} to use the unbound
+   *          values as-is
+   * @return WellFormedName representing the unbound formatted string
+   * @throws ParseException
+   *           if the fs argument is malformed
+   */
+  public static WellFormedName unbindFS(CharSequence fs, ValueInterner interner) throws ParseException {
+    return unbindFS(fs, interner, false).getOrThrow();
+  }
+
+  /**
+   * Unbinds a formatted string to a WFN without throwing an exception if the formatted string is
+   * invalid. This is intended for bulk processing of input where invalid names are expected, as the
+   * cost of creating and throwing a {@link ParseException} for each invalid name is avoided. The
+   * formatted string is read in place, as described by {@link #unbindFS(CharSequence)}.
+   * 
+   * @param fs
+   *          Formatted string to unbind
+   * @return the unbound WellFormedName, or the error that prevented the formatted string from being
+   *         unbound
+   */
+  public static ParseResult tryUnbindFS(CharSequence fs) {
+    return unbindFS(fs, null, false);
+  }
+
+  /**
+   * Unbinds a formatted string to a WFN without throwing an exception if the formatted string is
+   * invalid, as described by {@link #tryUnbindFS(CharSequence)}, replacing each attribute value with
+   * its canonical instance from the provided interner.
+   * 
+   * @param fs
+   *          Formatted string to unbind
+   * @param interner
+   *          the interner supplying canonical attribute values, or {@code null} to use the unbound
+   *          values as-is
+   * @return the unbound WellFormedName, or the error that prevented the formatted string from being
+   *         unbound
+   */
+  public static ParseResult tryUnbindFS(CharSequence fs, ValueInterner interner) {
+    return unbindFS(fs, interner, false);
+  }
+
+  /**
+   * Unbinds a formatted string that is known to be valid, such as one taken from a dictionary that
+   * has already been validated, to a WFN. The formatted string is not validated, and the unbound
+   * values are set without the checks performed by
+   * {@link WellFormedName#set(WellFormedName.Attribute, Object)}. Only errors that prevent the
+   * formatted string from being split into its components and unquoted are detected; the result of
+   * unbinding any other invalid formatted string is undefined.
+   * 
+   * @param fs
+   *          the valid formatted string to unbind
+   * @return WellFormedName representing the unbound formatted string
+   * @throws ParseException
+   *           if the formatted string cannot be unbound
+   */
+  public static WellFormedName unbindTrustedFS(CharSequence fs) throws ParseException {
+    return unbindFS(fs, null, true).getOrThrow();
+  }
+
+  /**
+   * Unbinds a formatted string that is known to be valid to a WFN, as described by
+   * {@link #unbindTrustedFS(CharSequence)}, replacing each attribute value with its canonical instance
+   * from the provided interner.
+   * 
+   * @param fs
+   *          the valid formatted string to unbind
+   * @param interner
+   *          the interner supplying canonical attribute values, or {@code null} to use the unbound
+   *          values as-is
+   * @return WellFormedName representing the unbound formatted string
+   * @throws ParseException
+   *           if the formatted string cannot be unbound
+   */
+  public static WellFormedName unbindTrustedFS(CharSequence fs, ValueInterner interner) throws ParseException {
+    return unbindFS(fs, interner, true).getOrThrow();
+  }
+
+  private static ParseResult unbindFS(CharSequence fs, ValueInterner interner, boolean trusted) {
+    if (!trusted) {
+      // Validate the formatted string
+      ParseResult invalid = Utilities.tryValidateFS(fs);
+      if (invalid != null) {
+        return invalid;
+      }
+    }
+    // Collect the unbound values, so the WFN is only constructed once they are all known.
+    WellFormedName.Builder result = WellFormedName.builder();
+    // Find the unescaped colons delimiting the 13 fields in a single scan.
+    int[] colons = getColonIndexesFS(fs);
+    if (colons[colons.length - 1] == 0) {
+      // only possible for trusted input, as validation ensures all 12 colons are present
+      int count = 0;
+      while (colons[count] != 0) {
+        count++;
+      }
+      return ParseResult.failure(ParseError.FS_MISSING_COMPONENTS, fs.length(), null, colons.length - count);
+    }
     // The cpe scheme is the 0th component, the cpe version is the 1st.
     // So we start parsing at the 2nd component.
     for (int a = 2; a != 13; a++) {
-      // Get the a'th string field.
-      Object value = getCompFS(fs, a);
-      // Unbind the string.
-      value = unbindValueFS((String) value);
+      // Unbind the a'th string field.
+      int begin = colons[a - 1] + 1;
+      int end = a < colons.length ? colons[a] : fs.length();
+      Object value = unbindValueFS(fs, begin, end);
+      if (value instanceof ParseResult) {
+        return (ParseResult) value;
+      }
 
       // Get the WFN component using the enum ordinal
       WellFormedName.Attribute attribute = WellFormedName.Attribute.values()[a - 2];
 
       // Set the value of the corresponding attribute.
-      result.set(attribute, value);
+      ParseError error = set(result, attribute, value, interner, trusted);
+      if (error != null) {
+        return ParseResult.failure(error, begin, value instanceof String ? (String) value : null);
+      }
     }
-    return result;
+    return ParseResult.success(result.buildTrusted());
   }
 
   /**
-   * Returns the i'th field of the formatted string. The colon is the field delimiter unless prefixed
-   * by a backslash.
+   * Sets an attribute of the WFN being unbound to an unbound value. Unless the value is trusted, it is
+   * checked here, so the WFN can be built without checking it again.
    * 
-   * @param fs
-   *          formatted string to retrieve from
-   * @param index
-   *          index of field to retrieve from fs.
-   * @return value of index of formatted string
+   * @param wfn
+   *          the builder of the WFN being unbound
+   * @param attribute
+   *          the attribute to set
+   * @param value
+   *          the unbound value
+   * @param interner
+   *          the interner supplying the canonical value, or {@code null} if values are not interned
+   * @param trusted
+   *          {@code true} if the value is known to be valid and should not be checked
+   * @return the error if the value is invalid, or {@code null} if the attribute was set
    */
-  private static String getCompFS(String fs, int index) {
-    if (index == 0) {
-      // return the substring from index 0 to the first occurence of an
-      // unescaped colon
-      int colonIndex = Utilities.getUnescapedColonIndex(fs);
-      // If no colon is found, we are at the end of the formatted string,
-      // so just return what's left.
-      if (colonIndex == 0) {
-        return fs;
+  private static ParseError set(WellFormedName.Builder wfn, WellFormedName.Attribute attribute, Object value,
+      ValueInterner interner, boolean trusted) {
+    if (interner != null) {
+      value = interner.intern(value);
+    }
+    if (!trusted) {
+      ParseError error = WellFormedName.validate(attribute, value);
+      if (error != null) {
+        return error;
       }
-      return Utilities.substr(fs, 0, colonIndex);
-    } else {
-      return getCompFS(Utilities.substr(fs, Utilities.getUnescapedColonIndex(fs) + 1, fs.length()), index - 1);
     }
+    wfn.set(attribute, value);
+    return null;
   }
 
   /**
-   * Takes a string value and returns the appropriate logical value if string is the bound form of a
-   * logical value. If string is some general value string, add quoting of non-alphanumerics as
-   * needed.
+   * Decodes a value taken from a component of a URI and sets an attribute of the WFN being unbound to
+   * the decoded value.
    * 
-   * @param value
-   *          value to be unbound
-   * @return logical value or quoted string
-   * @throws ParseException
-   *           if the s argument is malformed
+   * @param wfn
+   *          the builder of the WFN being unbound
+   * @param attribute
+   *          the attribute to set
+   * @param uri
+   *          the URI containing the encoded value
+   * @param begin
+   *          the index of the first character of the value
+   * @param end
+   *          the index following the last character of the value
+   * @param interner
+   *          the interner supplying the canonical value, or {@code null} if values are not interned
+   * @param trusted
+   *          {@code true} if the value is known to be valid and should not be checked
+   * @return the error if the value cannot be decoded or is invalid, or {@code null} if the attribute
+   *         was set
    */
-  private static Object unbindValueFS(String value) throws ParseException {
-    if (value.equals("*")) {
-      return LogicalValue.ANY;
+  private static ParseResult set(WellFormedName.Builder wfn, WellFormedName.Attribute attribute, CharSequence uri,
+      int begin, int end, ValueInterner interner, boolean trusted) {
+    Object decoded = decode(uri, begin, end);
+    if (decoded instanceof ParseResult) {
+      return (ParseResult) decoded;
     }
-    if (value.equals("-")) {
-      return LogicalValue.NA;
+    ParseError error = set(wfn, attribute, decoded, interner, trusted);
+    if (error != null) {
+      return ParseResult.failure(error, begin, decoded instanceof String ? (String) decoded : null);
     }
-    return addQuoting(value);
+    return null;
   }
 
   /**
-   * Inspect each character in a string, copying quoted characters, with their escaping, into the
-   * result. Look for unquoted non alphanumerics and if not "*" or "?", add escaping.
+   * Returns the positions of the field delimiters in a formatted string. The colon is the field
+   * delimiter unless prefixed by a backslash. The formatted string must already have been validated,
+   * so it contains exactly 12 delimiters.
    * 
-   * @param str
-   *          the string to process
-   * @return a string that has been properly escaped
-   * @throws ParseException
-   *           if the s argument is malformed
+   * @param fs
+   *          formatted string to scan
+   * @return the indexes of the 12 unescaped colons, in ascending order
+   */
+  private static int[] getColonIndexesFS(CharSequence fs) {
+    int[] retval = new int[12];
+    int count = 0;
+    for (int i = 1, length = fs.length(); i < length && count < retval.length; i++) {
+      if (fs.charAt(i) == ':' && fs.charAt(i - 1) != '\\') {
+        retval[count++] = i;
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Takes a field of a formatted string and returns the appropriate logical value if the field is the
+   * bound form of a logical value. If the field is some general value string, add quoting of
+   * non-alphanumerics as needed.
+   * 
+   * @param fs
+   *          the formatted string containing the value to be unbound
+   * @param begin
+   *          the index of the first character of the field
+   * @param end
+   *          the index following the last character of the field
+   * @return logical value or quoted string, or a {@link ParseResult} describing the error if the field
+   *         is malformed
    */
-  private static String addQuoting(String str) throws ParseException {
-    String result = "";
-    int idx = 0;
+  private static Object unbindValueFS(CharSequence fs, int begin, int end) {
+    if (end - begin == 1) {
+      char ch = fs.charAt(begin);
+      if (ch == '*') {
+        return LogicalValue.ANY;
+      }
+      if (ch == '-') {
+        return LogicalValue.NA;
+      }
+    }
+    return addQuoting(fs, begin, end);
+  }
+
+  /**
+   * Inspect each character in a field of a formatted string, copying quoted characters, with their
+   * escaping, into the result. Look for unquoted non alphanumerics and if not "*" or "?", add
+   * escaping.
+   * 
+   * @param fs
+   *          the formatted string containing the field to process
+   * @param begin
+   *          the index of the first character of the field
+   * @param end
+   *          the index following the last character of the field
+   * @return a string that has been properly escaped, or a {@link ParseResult} describing the error if
+   *         the field is malformed
+   */
+  private static Object addQuoting(CharSequence fs, int begin, int end) {
+    StringBuilder result = new StringBuilder(end - begin + 8);
+    int idx = begin;
     boolean embedded = false;
-    while (idx < Utilities.strlen(str)) {
-      String ch = Utilities.substr(str, idx, idx + 1);
-      if (Utilities.isAlphanum(ch) || ch.equals("_")) {
+    while (idx < end) {
+      char ch = fs.charAt(idx);
+      if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_') {
         // Alphanumeric characters pass untouched.
-        result = Utilities.strcat(result, ch);
+        result.append(ch);
         idx = idx + 1;
         embedded = true;
         continue;
       }
-      if (ch.equals("\\")) {
+      if (ch == '\\') {
         // Anything quoted in the bound string stays quoted in the
         // unbound string.
-        result = Utilities.strcat(result, Utilities.substr(str, idx, idx + 2));
+        if (idx + 1 == end) {
+          return ParseResult.failure(ParseError.FS_TRAILING_BACKSLASH, idx, null);
+        }
+        result.append(ch).append(fs.charAt(idx + 1));
         idx = idx + 2;
         embedded = true;
         continue;
       }
-      if (ch.equals("*")) {
+      if (ch == '*') {
         // An unquoted asterisk must appear at the beginning or the end
         // of the string.
-        if (idx == 0 || idx == (Utilities.strlen(str) - 1)) {
-          result = Utilities.strcat(result, ch);
+        if (idx == begin || idx == (end - 1)) {
+          result.append(ch);
           idx = idx + 1;
           embedded = true;
           continue;
         } else {
-          throw new ParseException("Error! cannot have unquoted * embedded in formatted string.", 0);
+          return ParseResult.failure(ParseError.FS_EMBEDDED_ASTERISK, idx, null);
         }
       }
-      if (ch.equals("?")) {
+      if (ch == '?') {
         // An unquoted question mark must appear at the beginning or
         // end of the string, or in a leading or trailing sequence.
         // if embedded is false, so must be preceded by ?
         // if embedded is true, so must be followed by ?
-        if (((idx == 0) || (idx == (Utilities.strlen(str) - 1)))
-            || (!embedded && (Utilities.substr(str, idx - 1, idx).equals("?")))
-            || (embedded && (Utilities.substr(str, idx + 1, idx + 2).equals("?")))) {
-          result = Utilities.strcat(result, ch);
+        if (((idx == begin) || (idx == (end - 1))) || (!embedded && (fs.charAt(idx - 1) == '?'))
+            || (embedded && (fs.charAt(idx + 1) == '?'))) {
+          result.append(ch);
           idx = idx + 1;
           embedded = false;
           continue;
         } else {
-          throw new ParseException("Error! cannot have unquoted ? embedded in formatted string.", 0);
+          return ParseResult.failure(ParseError.FS_EMBEDDED_QUESTION_MARK, idx, null);
         }
       }
       // All other characters must be quoted.
-      result = Utilities.strcat(result, "\\", ch);
+      result.append('\\').append(ch);
       idx = idx + 1;
       embedded = true;
     }
-    return result;
+    return result.toString();
   }
 
   /**
-   * Return the i'th component of the URI.
+   * Returns the positions of the component delimiters in a URI, which are used to locate its first
+   * eight components. The colon is always the component delimiter.
    * 
    * @param uri
-   *          String representation of URI to retrieve components from
-   * @param index
-   *          Index of component to return
-   * @return If i = 0, returns the URI scheme. Otherwise, returns the i'th component of uri
+   *          URI to scan
+   * @return the indexes of the first 8 colons, in ascending order, where the length of the URI is
+   *         used in place of each colon that is not present
    */
-  private static String getCompURI(String uri, int index) {
-    if (index == 0) {
-      return Utilities.substr(uri, index, uri.indexOf("/"));
-    }
-    String[] sa = uri.split(":");
-    // If requested component exceeds the number
-    // of components in URI, return blank
-    if (index >= sa.length) {
-      return "";
+  private static int[] getColonIndexesURI(CharSequence uri) {
+    int length = uri.length();
+    int[] retval = new int[8];
+    int count = 0;
+    for (int i = 0; i < length && count < retval.length; i++) {
+      if (uri.charAt(i) == ':') {
+        retval[count++] = i;
+      }
     }
-    if (index == 1) {
-      return Utilities.substr(sa[index], 1, sa[index].length());
+    while (count < retval.length) {
+      retval[count++] = length;
     }
-    return sa[index];
+    return retval;
   }
 
   /**
-   * Scans a string and returns a copy with all percent-encoded characters decoded. This function is
-   * the inverse of pctEncode() defined in the CPENameBinder class. Only legal percent-encoded forms
-   * are decoded. Others raise a ParseException.
+   * Scans a component of a URI and returns a copy with all percent-encoded characters decoded. This
+   * function is the inverse of pctEncode() defined in the CPE specification. Only legal
+   * percent-encoded forms are decoded. Others are reported as an error.
    * 
-   * @param str
-   *          String to be decoded
-   * @return decoded string
-   * @throws ParseException
-   *           if the provided string is invalid
-   * @see CPENameBinder#pctEncode(java.lang.String)
+   * @param uri
+   *          the URI containing the component to be decoded
+   * @param begin
+   *          the index of the first character of the component
+   * @param end
+   *          the index following the last character of the component
+   * @return decoded string, or a {@link ParseResult} describing the error if the component is invalid
+   * @see PercentCodec#decode(char, char)
    */
-  private static Object decode(String str) throws ParseException {
-    if (str.equals("")) {
+  private static Object decode(CharSequence uri, int begin, int end) {
+    if (begin == end) {
       return LogicalValue.ANY;
     }
-    if (str.equals("-")) {
+    if (end - begin == 1 && uri.charAt(begin) == '-') {
       return LogicalValue.NA;
     }
+    for (int i = begin; i < end; i++) {
+      if (uri.charAt(i) >= 0x80) {
+        // Unicode case mapping can change the length of the string, so decode a lowercase copy.
+        String str = Utilities.toLowercase(uri.subSequence(begin, end).toString());
+        return decode(str, 0, str.length(), begin);
+      }
+    }
+    return decode(uri, begin, end, begin);
+  }
+
+  /**
+   * Decodes a component of a URI, normalizing all uppercase ASCII letters to lowercase while it is
+   * scanned.
+   * 
+   * @param str
+   *          the sequence containing the component to be decoded
+   * @param begin
+   *          the index of the first character of the component
+   * @param end
+   *          the index following the last character of the component
+   * @param offset
+   *          the index of the component in the URI, used to locate an error
+   * @return decoded string, or a {@link ParseResult} describing the error if the component is invalid
+   */
+  private static Object decode(CharSequence str, int begin, int end, int offset) {
     // Start the scanning loop.
-    // Normalize: convert all uppercase letters to lowercase first.
-    str = Utilities.toLowercase(str);
-    String result = "";
-    int idx = 0;
+    StringBuilder result = new StringBuilder(end - begin + 8);
+    int idx = begin;
     boolean embedded = false;
-    while (idx < Utilities.strlen(str)) {
+    while (idx < end) {
       // Get the idx'th character of s.
-      String ch = Utilities.substr(str, idx, idx + 1);
+      char ch = toLowercase(str.charAt(idx));
       // Deal with dot, hyphen, and tilde: decode with quoting.
-      if (ch.equals(".") || ch.equals("-") || ch.equals("~")) {
-        result = Utilities.strcat(result, "\\", ch);
+      if (ch == '.' || ch == '-' || ch == '~') {
+        result.append('\\').append(ch);
         idx = idx + 1;
         // a non-%01 encountered.
         embedded = true;
         continue;
       }
-      if (!ch.equals("%")) {
-        result = Utilities.strcat(result, ch);
+      if (ch != '%') {
+        result.append(ch);
         idx = idx + 1;
         // a non-%01 encountered.
         embedded = true;
         continue;
       }
       // We get here if we have a substring starting w/ '%'.
-      String form = Utilities.substr(str, idx, idx + 3);
-      if (form.equals("%01")) {
-        if ((idx == 0) || (idx == Utilities.strlen(str) - 3)
-            || (!embedded && Utilities.substr(str, idx - 3, idx - 1).equals("%01"))
-            || (embedded && (Utilities.strlen(str) >= idx + 6))
-                && (Utilities.substr(str, idx + 3, idx + 6).equals("%01"))) {
-          result = Utilities.strcat(result, "?");
+      if (idx + 3 > end) {
+        return ParseResult.failure(ParseError.URI_UNKNOWN_FORM, offset + idx - begin,
+            toLowercase(str, idx, end));
+      }
+      char high = toLowercase(str.charAt(idx + 1));
+      char low = toLowercase(str.charAt(idx + 2));
+      if (high == '0' && low == '1') {
+        // A %01 must appear at the beginning or end of the component, or be followed by another %01
+        // if it is embedded.
+        if ((idx == begin) || (idx == end - 3)
+            || (embedded && (end >= idx + 6) && str.charAt(idx + 3) == '%' && str.charAt(idx + 4) == '0'
+                && str.charAt(idx + 5) == '1')) {
+          result.append('?');
           idx = idx + 3;
           continue;
         } else {
-          throw new ParseException("Error decoding string", 0);
+          return ParseResult.failure(ParseError.URI_MISPLACED_SPECIAL_CHARACTER, offset + idx - begin, null);
         }
-      } else if (form.equals("%02")) {
-        if ((idx == 0) || (idx == (Utilities.strlen(str) - 3))) {
-          result = Utilities.strcat(result, "*");
+      } else if (high == '0' && low == '2') {
+        if ((idx == begin) || (idx == (end - 3))) {
+          result.append('*');
         } else {
-          throw new ParseException("Error decoding string", 0);
+          return ParseResult.failure(ParseError.URI_MISPLACED_SPECIAL_CHARACTER, offset + idx - begin, null);
         }
-      } else if (form.equals("%21")) {
-        result = Utilities.strcat(result, "\\!");
-      } else if (form.equals("%22")) {
-        result = Utilities.strcat(result, "\\\"");
-      } else if (form.equals("%23")) {
-        result = Utilities.strcat(result, "\\#");
-      } else if (form.equals("%24")) {
-        result = Utilities.strcat(result, "\\$");
-      } else if (form.equals("%25")) {
-        result = Utilities.strcat(result, "\\%");
-      } else if (form.equals("%26")) {
-        result = Utilities.strcat(result, "\\&");
-      } else if (form.equals("%27")) {
-        result = Utilities.strcat(result, "\\'");
-      } else if (form.equals("%28")) {
-        result = Utilities.strcat(result, "\\(");
-      } else if (form.equals("%29")) {
-        result = Utilities.strcat(result, "\\)");
-      } else if (form.equals("%2a")) {
-        result = Utilities.strcat(result, "\\*");
-      } else if (form.equals("%2b")) {
-        result = Utilities.strcat(result, "\\+");
-      } else if (form.equals("%2c")) {
-        result = Utilities.strcat(result, "\\,");
-      } else if (form.equals("%2f")) {
-        result = Utilities.strcat(result, "\\/");
-      } else if (form.equals("%3a")) {
-        result = Utilities.strcat(result, "\\)");
-      } else if (form.equals("%3b")) {
-        result = Utilities.strcat(result, "\\;");
-      } else if (form.equals("%3c")) {
-        result = Utilities.strcat(result, "\\<");
-      } else if (form.equals("%3d")) {
-        result = Utilities.strcat(result, "\\=");
-      } else if (form.equals("%3e")) {
-        result = Utilities.strcat(result, "\\>");
-      } else if (form.equals("%3f")) {
-        result = Utilities.strcat(result, "\\?");
-      } else if (form.equals("%40")) {
-        result = Utilities.strcat(result, "\\@");
-      } else if (form.equals("%5b")) {
-        result = Utilities.strcat(result, "\\[");
-      } else if (form.equals("%5c")) {
-        result = Utilities.strcat(result, "\\\\");
-      } else if (form.equals("%5d")) {
-        result = Utilities.strcat(result, "\\]");
-      } else if (form.equals("%5e")) {
-        result = Utilities.strcat(result, "\\^");
-      } else if (form.equals("%60")) {
-        result = Utilities.strcat(result, "\\`");
-      } else if (form.equals("%7b")) {
-        result = Utilities.strcat(result, "\\{");
-      } else if (form.equals("%7c")) {
-        result = Utilities.strcat(result, "\\|");
-      } else if (form.equals("%7d")) {
-        result = Utilities.strcat(result, "\\}");
-      } else if (form.equals("%7e")) {
-        result = Utilities.strcat(result, "\\~");
       } else {
-        throw new ParseException("Unknown form: " + form, 0);
+        char decoded = PercentCodec.decode(high, low);
+        if (decoded == 0) {
+          return ParseResult.failure(ParseError.URI_UNKNOWN_FORM, offset + idx - begin,
+              toLowercase(str, idx, idx + 3));
+        }
+        result.append('\\').append(decoded);
       }
       idx = idx + 3;
       embedded = true;
     }
-    return result;
+    return result.toString();
+  }
+
+  private static char toLowercase(char ch) {
+    return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+  }
+
+  private static String toLowercase(CharSequence str, int begin, int end) {
+    StringBuilder retval = new StringBuilder(end - begin);
+    for (int i = begin; i < end; i++) {
+      retval.append(toLowercase(str.charAt(i)));
+    }
+    return retval.toString();
   }
 
   /**
-   * Unpacks the elements in s and sets the attributes in the given WellFormedName accordingly.
+   * Unpacks the elements in a packed edition component of a URI and sets the attributes of the
+   * WellFormedName being unbound accordingly.
    * 
-   * @param str
-   *          packed String
+   * @param uri
+   *          the URI containing the packed component
+   * @param begin
+   *          the index of the first character of the component
+   * @param end
+   *          the index following the last character of the component
    * @param wfn
-   *          WellFormedName
-   * @return The augmented WellFormedName
-   * @throws ParseException
-   *           if the str is marformed
+   *          the builder of the WellFormedName being unbound
+   * @param interner
+   *          the interner supplying canonical attribute values, or {@code null}
+   * @param trusted
+   *          {@code true} if the values are known to be valid and should not be checked
+   * @return the error if the component is malformed, or {@code null} if the attributes were set
    */
-  private static WellFormedName unpack(String str, WellFormedName wfn) throws ParseException {
-    // Parse out the five elements.
-    int start = 1;
-    int end = Utilities.strchr(str, '~', start);
-    String edition;
-    if (start == end) {
-      edition = "";
-    } else {
-      edition = Utilities.substr(str, start, end);
-    }
-
-    start = end + 1;
-    end = Utilities.strchr(str, '~', start);
-    String swEdition;
-    if (start == end) {
-      swEdition = "";
-    } else {
-      swEdition = Utilities.substr(str, start, end);
-    }
-
-    start = end + 1;
-    end = Utilities.strchr(str, '~', start);
-    String targetSoftware;
-    if (start == end) {
-      targetSoftware = "";
-    } else {
-      targetSoftware = Utilities.substr(str, start, end);
-    }
-
-    start = end + 1;
-    end = Utilities.strchr(str, '~', start);
-    String targetHardware;
-    if (start == end) {
-      targetHardware = "";
-    } else {
-      targetHardware = Utilities.substr(str, start, end);
-    }
-
-    start = end + 1;
-    String other;
-    if (start >= Utilities.strlen(str)) {
-      other = "";
-    } else {
-      other = Utilities.substr(str, start, Utilities.strlen(str) - 1);
+  private static ParseResult unpack(CharSequence uri, int begin, int end, WellFormedName.Builder wfn,
+      ValueInterner interner, boolean trusted) {
+    // Parse out the five elements. The first four are terminated by a '~', and the last
+    // runs to the end of the component, less its final character.
+    int[] starts = new int[PACKED_ATTRIBUTES.length];
+    int[] ends = new int[PACKED_ATTRIBUTES.length];
+    int start = begin + 1;
+    for (int i = 0; i != PACKED_ATTRIBUTES.length; i++) {
+      int stop;
+      if (i < PACKED_ATTRIBUTES.length - 1) {
+        stop = start;
+        while (stop < end && uri.charAt(stop) != '~') {
+          stop++;
+        }
+        if (stop == end) {
+          return ParseResult.failure(ParseError.URI_MALFORMED_PACKED_EDITION, begin,
+              uri.subSequence(begin, end).toString());
+        }
+      } else {
+        stop = Math.max(start, end - 1);
+      }
+      starts[i] = start;
+      ends[i] = stop;
+      start = stop + 1;
     }
 
     // Set each component in the WFN.
-    wfn.set(WellFormedName.Attribute.EDITION, decode(edition));
-    wfn.set(WellFormedName.Attribute.SW_EDITION, decode(swEdition));
-    wfn.set(WellFormedName.Attribute.TARGET_SW, decode(targetSoftware));
-    wfn.set(WellFormedName.Attribute.TARGET_HW, decode(targetHardware));
-    wfn.set(WellFormedName.Attribute.OTHER, decode(other));
-    return wfn;
+    for (int i = 0; i != PACKED_ATTRIBUTES.length; i++) {
+      ParseResult failure = set(wfn, PACKED_ATTRIBUTES[i], uri, starts[i], ends[i], interner, trusted);
+      if (failure != null) {
+        return failure;
+      }
+    }
+    return null;
   }
 }
@@ -0,0 +1,107 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming;
+
+/**
+ * Table-driven percent-encoding and decoding of the quoted characters in a CPE URI, as used by
+ * {@link CPENameBinder} and {@link CPENameUnbinder}.
+ * <p>
+ * The tables reproduce the mappings of the reference implementation exactly, including two that are
+ * not inverses of each other: '~' is encoded as "%7d", and "%3a" is decoded as ')'.
+ */
+final class PercentCodec {
+  // The characters that are percent-encoded when quoted. All other characters are bound as-is.
+  private static final String ENCODED_CHARACTERS = "!\"#$%&'()*+,/:;<=>?@[\\]^`{|}";
+
+  // Percent-encoded forms indexed by character, or null if the character is not encoded.
+  private static final String[] ENCODED = new String[128];
+  // Decoded characters indexed by the value of the two hex digits of a form, or 0 if the form is not
+  // legal.
+  private static final char[] DECODED = new char[256];
+
+  static {
+    for (char ch : ENCODED_CHARACTERS.toCharArray()) {
+      String form = String.format("%%%02x", (int) ch);
+      ENCODED[ch] = form;
+      DECODED[ch] = ch;
+    }
+    ENCODED['~'] = "%7d";
+    DECODED[0x3a] = ')';
+    DECODED[0x7e] = '~';
+  }
+
+  private PercentCodec() {
+    // disable construction
+  }
+
+  /**
+   * Appends the percent-encoding of a quoted character. Characters that have no encoding, such as
+   * '-' and '.', are appended as-is.
+   * 
+   * @param ch
+   *          the quoted character to encode
+   * @param out
+   *          the builder to append to
+   */
+  static void encode(char ch, StringBuilder out) {
+    String form = ch < ENCODED.length ? ENCODED[ch] : null;
+    if (form == null) {
+      out.append(ch);
+    } else {
+      out.append(form);
+    }
+  }
+
+  /**
+   * Decodes the percent-encoded form with the provided hex digits. The special forms "%01" and "%02"
+   * are not handled by this method.
+   * 
+   * @param high
+   *          the lowercase first hex digit of the form
+   * @param low
+   *          the lowercase second hex digit of the form
+   * @return the quoted character represented by the form, or 0 if the form is not legal
+   */
+  static char decode(char high, char low) {
+    int highValue = hexValue(high);
+    int lowValue = hexValue(low);
+    if (highValue == -1 || lowValue == -1) {
+      return 0;
+    }
+    return DECODED[highValue << 4 | lowValue];
+  }
+
+  private static int hexValue(char ch) {
+    if (ch >= '0' && ch <= '9') {
+      return ch - '0';
+    }
+    if (ch >= 'a' && ch <= 'f') {
+      return ch - 'a' + 10;
+    }
+    return -1;
+  }
+}
@@ -51,16 +51,37 @@
 
 package gov.nist.secauto.cpe.naming.util;
 
+import gov.nist.secauto.cpe.common.CompactWellFormedName;
 import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
 import gov.nist.secauto.cpe.naming.CPENameBinder;
 
 import java.net.URI;
+import java.text.ParseException;
+import java.util.Objects;
 
 /**
  * An abstract implementation of a notional unbound CPE Name expressed as a {@link WellFormedName}.
+ * <p>
+ * A CPE Name constructed from a {@link WellFormedName} holds that name, so changes made to the
+ * {@link WellFormedName} returned by {@link #getWellFormedName()} are reflected by the bound forms,
+ * which are computed on each call.
+ * <p>
+ * A CPE Name may instead be constructed from its bound form, in which case it is immutable. It holds
+ * its values in a {@link CompactWellFormedName}, which is unbound from the bound form when first
+ * needed. {@link #getWellFormedName()} then returns a new copy of the values on each call, while
+ * {@link #getWellFormedNameView()} returns the held values, and the bound forms are computed once and
+ * cached. Immutable instances are safe to share between threads.
  */
 public abstract class AbstractCPEName implements CPEName {
+  // the name held by a mutable CPE Name
   private final WellFormedName wfn;
+  // the bound form an immutable CPE Name was constructed from, or null for a mutable CPE Name
+  private final CharSequence text;
+  private volatile CompactWellFormedName compact;
+  private volatile String uriString;
+  private volatile String formattedString;
+  private volatile URI uri;
 
   /**
    * Construct a notional, unbound CPE Name based on a {@link WellFormedName}.
@@ -70,25 +91,145 @@ public abstract class AbstractCPEName implements CPEName {
    */
   protected AbstractCPEName(WellFormedName wfn) {
     this.wfn = wfn;
+    this.text = null;
   }
 
+  /**
+   * Construct an immutable CPE Name based on its bound form. If the unbound values are not provided,
+   * the bound form is unbound when the values are first needed, and must not change until then.
+   * 
+   * @param text
+   *          the CPE URI or formatted string the CPE Name was unbound from
+   * @param compact
+   *          the values unbound from the text, or {@code null} to unbind the text when it is first
+   *          needed
+   * @throws NullPointerException
+   *           if the text is {@code null}
+   */
+  protected AbstractCPEName(CharSequence text, CompactWellFormedName compact) {
+    this.wfn = null;
+    this.text = Objects.requireNonNull(text, "text");
+    this.compact = compact;
+  }
+
+  /**
+   * Gets the CPE URI or formatted string this CPE Name was constructed from.
+   * 
+   * @return the bound form provided at construction, or {@code null} if the CPE Name was constructed
+   *         from a {@link WellFormedName}
+   */
+  public CharSequence getText() {
+    return text;
+  }
+
+  /**
+   * Determines if this CPE Name is immutable, because it was constructed from its bound form.
+   * 
+   * @return {@code true} if the CPE Name is immutable, or {@code false} if it holds a mutable
+   *         {@link WellFormedName}
+   */
+  public boolean isImmutable() {
+    return text != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * An immutable CPE Name returns a new copy of its values on each call, so changing the returned name
+   * does not affect this CPE Name. Each copy is a complete {@link WellFormedName}, so callers that only
+   * read the values, for example to match or bind them, should use {@link #getWellFormedNameView()}
+   * instead.
+   * 
+   * @throws IllegalStateException
+   *           if the CPE Name was constructed from a malformed bound form that had not yet been
+   *           unbound
+   */
   @Override
   public WellFormedName getWellFormedName() {
-    return wfn;
+    return isImmutable() ? toCompact().toWellFormedName() : wfn;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * An immutable CPE Name returns the {@link CompactWellFormedName} holding its values, and a mutable
+   * CPE Name returns its {@link WellFormedName}. Neither is copied.
+   * 
+   * @throws IllegalStateException
+   *           if the CPE Name was constructed from a malformed bound form that had not yet been
+   *           unbound
+   */
+  @Override
+  public WellFormedNameView getWellFormedNameView() {
+    return isImmutable() ? toCompact() : wfn;
+  }
+
+  /**
+   * Gets an immutable copy of the values of this CPE Name. For an immutable CPE Name, the held values
+   * are returned without being copied.
+   * 
+   * @return the values of this CPE Name
+   * @throws IllegalStateException
+   *           if the CPE Name was constructed from a malformed bound form that had not yet been
+   *           unbound
+   */
+  public CompactWellFormedName toCompact() {
+    if (!isImmutable()) {
+      return getWellFormedName().toCompact();
+    }
+    CompactWellFormedName retval = compact;
+    if (retval == null) {
+      synchronized (this) {
+        retval = compact;
+        if (retval == null) {
+          try {
+            retval = CPEFactory.tryParse(text).getOrThrow().toCompact();
+          } catch (ParseException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+          }
+          compact = retval;
+        }
+      }
+    }
+    return retval;
   }
 
   @Override
   public URI toUri() {
-    return URI.create(toUriString());
+    if (!isImmutable()) {
+      return URI.create(toUriString());
+    }
+    URI retval = uri;
+    if (retval == null) {
+      retval = URI.create(toUriString());
+      uri = retval;
+    }
+    return retval;
   }
 
   @Override
   public String toUriString() {
-    return CPENameBinder.bindToURI(getWellFormedName());
+    if (!isImmutable()) {
+      return CPENameBinder.bindToURI(getWellFormedName());
+    }
+    String retval = uriString;
+    if (retval == null) {
+      retval = CPENameBinder.bindToURI(toCompact());
+      uriString = retval;
+    }
+    return retval;
   }
 
   @Override
   public String toFormattedString() {
-    return CPENameBinder.bindToFS(getWellFormedName());
+    if (!isImmutable()) {
+      return CPENameBinder.bindToFS(getWellFormedName());
+    }
+    String retval = formattedString;
+    if (retval == null) {
+      retval = CPENameBinder.bindToFS(toCompact());
+      formattedString = retval;
+    }
+    return retval;
   }
 }
@@ -51,6 +51,11 @@
 
 package gov.nist.secauto.cpe.naming.util;
 
+import gov.nist.secauto.cpe.common.ParseResult;
+import gov.nist.secauto.cpe.common.Utilities;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.naming.CPENameUnbinder;
+
 import java.text.ParseException;
 
 /**
@@ -81,4 +86,151 @@ public class CPEFactory {
     return retval;
   }
 
+  /**
+   * Creates a new {@link CPEName} instance based on an unbound form that is known to be valid, such
+   * as a name taken from a dictionary that has already been validated. The name is unbound without
+   * validation, as described by {@link CPENameUnbinder#unbindTrustedFS(CharSequence)} and
+   * {@link CPENameUnbinder#unbindTrustedURI(CharSequence)}.
+   * 
+   * @param name
+   *          a valid unbound CPE Name
+   * @return a CPEName instance representing the provided name
+   * @throws ParseException
+   *           if the name cannot be unbound
+   */
+  public static CPEName newTrustedCPEName(CharSequence name) throws ParseException {
+    CPEName retval = null;
+    if (Utilities.startsWithIgnoreCase(name, "cpe:2.3:")) {
+      retval = new CPEFormattedStringName(CPENameUnbinder.unbindTrustedFS(name));
+    } else {
+      retval = new CPEUriName(CPENameUnbinder.unbindTrustedURI(name));
+    }
+    return retval;
+  }
+
+  /**
+   * Creates a new, immutable {@link CPEName} instance that keeps the unbound form provided by the
+   * argument, and unbinds it only when its values are first needed. This avoids the cost of unbinding
+   * names that are never used. The sequence must not change after this call.
+   * <p>
+   * The name is not validated by this method. If it is malformed, the first call that needs the
+   * {@link gov.nist.secauto.cpe.common.WellFormedName} throws an {@link IllegalStateException} with
+   * the {@link ParseException} as its cause.
+   * 
+   * @param name
+   *          an unbound CPE Name
+   * @return a CPEName instance representing the provided name
+   */
+  public static CPEName newLazyCPEName(CharSequence name) {
+    CPEName retval = null;
+    if (Utilities.startsWithIgnoreCase(name, "cpe:2.3:")) {
+      retval = new CPEFormattedStringName(name, null);
+    } else {
+      retval = new CPEUriName(name, null);
+    }
+    return retval;
+  }
+
+  /**
+   * Creates a new, immutable {@link CPEName} instance based on the unbound form provided by the
+   * argument, which is unbound immediately. Changing the {@link CPEName#getWellFormedName() well formed
+   * name} of the instance does not affect it, so it can be shared.
+   * 
+   * @param name
+   *          an unbound CPE Name
+   * @return a CPEName instance representing the provided name
+   * @throws ParseException
+   *           if the name argument is malformed
+   * @see AbstractCPEName#isImmutable()
+   */
+  static CPEName newImmutableCPEName(String name) throws ParseException {
+    CPEName retval = null;
+    if (name.toLowerCase().startsWith("cpe:2.3:")) {
+      retval = new CPEFormattedStringName(name, CPENameUnbinder.unbindFS(name).toCompact());
+    } else {
+      retval = new CPEUriName(name, CPENameUnbinder.unbindURI(name).toCompact());
+    }
+    return retval;
+  }
+
+  /**
+   * Retrieves a {@link CPEName} instance based on the unbound form provided by the argument, using the
+   * provided cache to avoid parsing the same name more than once. The returned instance may be
+   * shared with other callers. It is immutable, so changing its
+   * {@link CPEName#getWellFormedName() well formed name} does not affect other callers.
+   * 
+   * @param name
+   *          an unbound CPE Name
+   * @param cache
+   *          the cache of previously parsed names
+   * @return a CPEName instance representing the provided name
+   * @throws ParseException
+   *           if the name argument is malformed
+   */
+  public static CPEName newCPEName(String name, CPENameCache cache) throws ParseException {
+    return cache.get(name);
+  }
+
+  /**
+   * Creates a new {@link CPEName} instance based on an unbound form held in a {@link CharSequence},
+   * such as an {@link gov.nist.secauto.cpe.common.AsciiCharSequence} view of a memory-mapped file. The
+   * name is unbound in place, without copying the sequence into a {@link String}.
+   * 
+   * @param name
+   *          an unbound CPE Name
+   * @return a CPEName instance representing the provided name
+   * @throws ParseException
+   *           if the name argument is malformed
+   */
+  public static CPEName newCPEName(CharSequence name) throws ParseException {
+    CPEName retval = null;
+    if (Utilities.startsWithIgnoreCase(name, "cpe:2.3:")) {
+      retval = new CPEFormattedStringName(name);
+    } else {
+      retval = new CPEUriName(name);
+    }
+    return retval;
+  }
+
+  /**
+   * Creates a new {@link CPEName} instance for a name that has already been unbound, for example by
+   * {@link #tryParse(CharSequence)}.
+   * 
+   * @param name
+   *          an unbound CPE Name
+   * @param wfn
+   *          the {@link WellFormedName} unbound from the name
+   * @return a CPEName instance representing the provided name
+   */
+  static CPEName newCPEName(String name, WellFormedName wfn) {
+    CPEName retval = null;
+    if (Utilities.startsWithIgnoreCase(name, "cpe:2.3:")) {
+      retval = new CPEFormattedStringName(wfn);
+    } else {
+      retval = new CPEUriName(wfn);
+    }
+    return retval;
+  }
+
+  /**
+   * Unbinds the CPE URI or formatted string provided by the argument without throwing an exception if
+   * it is malformed. This avoids the cost of an exception for each rejected name when processing
+   * input that is expected to contain invalid names.
+   * 
+   * @param name
+   *          an unbound CPE Name
+   * @return the unbound WellFormedName, or the error that prevented the name from being unbound
+   * @see CPENameUnbinder#tryUnbindFS(CharSequence)
+   * @see CPENameUnbinder#tryUnbindURI(CharSequence)
+   */
+  public static ParseResult tryParse(CharSequence name) {
+    ParseResult retval;
+    if (Utilities.startsWithIgnoreCase(name, "cpe:2.3:")) {
+      retval = CPENameUnbinder.tryUnbindFS(name);
+    } else {
+      retval = CPENameUnbinder.tryUnbindURI(name);
+    }
+    return retval;
+  }
+
 }
@@ -51,6 +51,7 @@
 
 package gov.nist.secauto.cpe.naming.util;
 
+import gov.nist.secauto.cpe.common.CompactWellFormedName;
 import gov.nist.secauto.cpe.common.WellFormedName;
 import gov.nist.secauto.cpe.naming.CPENameUnbinder;
 
@@ -73,6 +74,45 @@ public class CPEFormattedStringName extends AbstractCPEName {
     super(CPENameUnbinder.unbindFS(formattedString));
   }
 
+  /**
+   * Constructs a formatted string bound CPE name based on a formatted string held in a
+   * {@link CharSequence}, without copying the sequence into a {@link String}.
+   * 
+   * @param formattedString
+   *          the formatted string
+   * @throws ParseException
+   *           if the formatted string is not valid
+   * @see CPENameUnbinder#unbindFS(CharSequence)
+   */
+  public CPEFormattedStringName(CharSequence formattedString) throws ParseException {
+    super(CPENameUnbinder.unbindFS(formattedString));
+  }
+
+  /**
+   * Constructs a formatted string bound CPE name based on a formatted string that has already been
+   * unbound.
+   * 
+   * @param wfn
+   *          the {@link WellFormedName} unbound from the formatted string
+   */
+  CPEFormattedStringName(WellFormedName wfn) {
+    super(wfn);
+  }
+
+  /**
+   * Constructs an immutable formatted string bound CPE name.
+   * 
+   * @param formattedString
+   *          the formatted string
+   * @param compact
+   *          the values unbound from the formatted string, or {@code null} to unbind the formatted
+   *          string when they are first needed
+   * @see AbstractCPEName#AbstractCPEName(CharSequence, CompactWellFormedName)
+   */
+  CPEFormattedStringName(CharSequence formattedString, CompactWellFormedName compact) {
+    super(formattedString, compact);
+  }
+
   /**
    * Gets the underlying {@link WellFormedName} as a formatted string.
    *
@@ -52,6 +52,7 @@
 package gov.nist.secauto.cpe.naming.util;
 
 import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
 
 import java.net.URI;
 
@@ -68,6 +69,19 @@ public interface CPEName {
    */
   WellFormedName getWellFormedName();
 
+  /**
+   * Gets the values of the CPE Name for reading, for example to match or bind them. An implementation
+   * may return its values without copying them, which {@link #getWellFormedName()} may not be able to
+   * do, so the returned view must not be modified.
+   * <p>
+   * The default implementation returns {@link #getWellFormedName()}.
+   * 
+   * @return the values of the CPE Name
+   */
+  default WellFormedNameView getWellFormedNameView() {
+    return getWellFormedName();
+  }
+
   /**
    * Get the specific bound form of the CPE name from the underlying {@link WellFormedName}.
    * 
@@ -0,0 +1,198 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming.util;
+
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache of parsed {@link CPEName} instances, keyed by the URI or formatted
+ * string they were parsed from. Use {@link CPEFactory#newCPEName(String, CPENameCache)} to parse
+ * names through a cache.
+ * <p>
+ * The cache is divided into segments, each holding an equal share of the maximum size and evicting
+ * its least recently used name when full. Strings that fail to parse are not cached.
+ * <p>
+ * The same {@link CPEName} instance is returned to every caller requesting a given string. The
+ * cached names are immutable: each call to {@link CPEName#getWellFormedName()} returns a new copy of
+ * the values, so a caller changing its copy does not affect other callers or later requests. Callers
+ * that only read the values should use {@link CPEName#getWellFormedNameView()}, which returns the
+ * cached values without copying them.
+ */
+public final class CPENameCache {
+  private static final int MAXIMUM_SEGMENTS = 16;
+
+  private final Segment[] segments;
+  private final int maximumSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Constructs a new cache that holds at most the provided number of names.
+   * 
+   * @param maximumSize
+   *          the maximum number of names to hold
+   * @throws IllegalArgumentException
+   *           if the maximum size is not positive
+   */
+  public CPENameCache(int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("Invalid maximum size: " + maximumSize);
+    }
+    this.maximumSize = maximumSize;
+    int segmentCount = Integer.highestOneBit(Math.min(MAXIMUM_SEGMENTS, maximumSize));
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      // distribute any remainder so the segment capacities add up to the maximum size
+      int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+      segments[i] = new Segment(capacity);
+    }
+  }
+
+  /**
+   * Retrieves the cached name parsed from the provided string, parsing and caching it if needed.
+   * 
+   * @param name
+   *          a CPE name bound to a URI or formatted string
+   * @return the shared CPEName instance representing the provided name
+   * @throws ParseException
+   *           if the name argument is malformed
+   */
+  public CPEName get(String name) throws ParseException {
+    Segment segment = segmentFor(name);
+    CPEName retval;
+    synchronized (segment) {
+      retval = segment.get(name);
+    }
+    if (retval != null) {
+      hits.increment();
+      return retval;
+    }
+    misses.increment();
+    // parse outside of the lock, so other names in the segment can still be retrieved
+    CPEName parsed = CPEFactory.newImmutableCPEName(name);
+    synchronized (segment) {
+      // another thread may have cached the same name in the meantime; keep the first instance
+      retval = segment.putIfAbsent(name, parsed);
+    }
+    return retval == null ? parsed : retval;
+  }
+
+  /**
+   * Retrieves the maximum number of names held by this cache.
+   * 
+   * @return the maximum size
+   */
+  public int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Retrieves the number of names currently held by this cache.
+   * 
+   * @return the number of cached names
+   */
+  public int size() {
+    int retval = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        retval += segment.size();
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Retrieves the number of requests that were satisfied by a cached name.
+   * 
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Retrieves the number of requests that required the name to be parsed.
+   * 
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Retrieves the number of names that have been evicted to keep the cache within its maximum size.
+   * 
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Removes all names from this cache. The hit, miss and eviction counts are not reset.
+   */
+  public void clear() {
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  private Segment segmentFor(String name) {
+    int hash = name.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  /**
+   * A least recently used map holding one segment of the cache. All access must be synchronized on
+   * the segment.
+   */
+  private final class Segment extends LinkedHashMap<String, CPEName> {
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+
+    private Segment(int capacity) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, CPEName> eldest) {
+      if (size() > capacity) {
+        evictions.increment();
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -51,6 +51,7 @@
 
 package gov.nist.secauto.cpe.naming.util;
 
+import gov.nist.secauto.cpe.common.CompactWellFormedName;
 import gov.nist.secauto.cpe.common.WellFormedName;
 import gov.nist.secauto.cpe.naming.CPENameUnbinder;
 
@@ -75,6 +76,20 @@ public class CPEUriName extends AbstractCPEName {
     super(CPENameUnbinder.unbindURI(uri));
   }
 
+  /**
+   * Constructs a URI bound CPE name based on a URI held in a {@link CharSequence}, without copying the
+   * sequence into a {@link String}.
+   * 
+   * @param uri
+   *          a CPE name bound to a URI
+   * @throws ParseException
+   *           if the URI bound CPE name is not valid
+   * @see CPENameUnbinder#unbindURI(CharSequence)
+   */
+  public CPEUriName(CharSequence uri) throws ParseException {
+    super(CPENameUnbinder.unbindURI(uri));
+  }
+
   /**
    * Constructs a URI bound CPE name based on the provided URI string.
    * 
@@ -87,6 +102,30 @@ public class CPEUriName extends AbstractCPEName {
     this(uri.toASCIIString());
   }
 
+  /**
+   * Constructs a URI bound CPE name based on a URI that has already been unbound.
+   * 
+   * @param wfn
+   *          the {@link WellFormedName} unbound from the URI
+   */
+  CPEUriName(WellFormedName wfn) {
+    super(wfn);
+  }
+
+  /**
+   * Constructs an immutable URI bound CPE name.
+   * 
+   * @param uri
+   *          a CPE name bound to a URI
+   * @param compact
+   *          the values unbound from the URI, or {@code null} to unbind the URI when they are first
+   *          needed
+   * @see AbstractCPEName#AbstractCPEName(CharSequence, CompactWellFormedName)
+   */
+  CPEUriName(CharSequence uri, CompactWellFormedName compact) {
+    super(uri, compact);
+  }
+
   /**
    * Gets the underlying {@link WellFormedName} as a CPE URI.
    * 
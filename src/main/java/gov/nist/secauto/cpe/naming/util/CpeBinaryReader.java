@@ -0,0 +1,254 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming.util;
+
+import gov.nist.secauto.cpe.common.CompactWellFormedName;
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.ParseError;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a stream of Well Formed Names written by {@link CpeBinaryWriter}. The names are read one at
+ * a time, so a stream of any size can be processed without holding every name in memory.
+ * <p>
+ * Each distinct string is checked once, as described by
+ * {@link WellFormedName#validate(Attribute, Object)}, when it is added to the string table, so a
+ * corrupt or crafted stream cannot produce an invalid name. The names are then built without checking
+ * their values again, as described by {@link WellFormedName#setTrusted(Attribute, Object)}. Names can
+ * be read either as a {@link WellFormedName} or, when the names will not be changed, directly as a
+ * {@link CompactWellFormedName}. This class is not thread-safe.
+ */
+public class CpeBinaryReader implements Closeable {
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+  // a valid value holds only printable ASCII characters, so this is far beyond any real value
+  private static final int MAXIMUM_STRING_LENGTH = 1 << 16;
+
+  private final InputStream in;
+  private final List<String> strings = new ArrayList<String>();
+  // reused for each record, as every attribute is set before each name is built
+  private final WellFormedName.Builder builder = WellFormedName.builder();
+  // bytes read from the stream, of which those from position to limit have not been consumed
+  private final byte[] buffer = new byte[8192];
+  private int position;
+  private int limit;
+  private boolean ended;
+
+  /**
+   * Constructs a new reader, reading the start of the stream from the provided input stream.
+   * 
+   * @param in
+   *          the stream to read from, which is closed when this reader is closed
+   * @throws IOException
+   *           if an error occurs while reading, or if the stream was not written by a compatible
+   *           {@link CpeBinaryWriter}
+   */
+  public CpeBinaryReader(InputStream in) throws IOException {
+    this.in = in;
+    byte[] magic = new byte[CpeBinaryWriter.MAGIC.length];
+    readFully(magic, magic.length);
+    if (!Arrays.equals(CpeBinaryWriter.MAGIC, magic)) {
+      throw new IOException("Not a binary CPE name stream");
+    }
+    int version = readUnsigned();
+    if (version != CpeBinaryWriter.VERSION) {
+      throw new IOException("Unsupported binary CPE name stream version: " + version);
+    }
+  }
+
+  /**
+   * Reads the next name from the stream.
+   * 
+   * @return the name, or {@code null} if the end of the stream has been reached
+   * @throws IOException
+   *           if an error occurs while reading, or if the stream is malformed
+   */
+  public WellFormedName read() throws IOException {
+    return readRecord() ? builder.buildTrusted() : null;
+  }
+
+  /**
+   * Reads the next name from the stream as an immutable name. This avoids constructing a
+   * {@link WellFormedName} for names that will only be matched, compared or stored.
+   * 
+   * @return the name, or {@code null} if the end of the stream has been reached
+   * @throws IOException
+   *           if an error occurs while reading, or if the stream is malformed
+   */
+  public CompactWellFormedName readCompact() throws IOException {
+    return readRecord() ? builder.buildCompactTrusted() : null;
+  }
+
+  /**
+   * Reads every remaining name from the stream.
+   * 
+   * @return the names, in the order they were written
+   * @throws IOException
+   *           if an error occurs while reading, or if the stream is malformed
+   */
+  public List<WellFormedName> readAll() throws IOException {
+    List<WellFormedName> retval = new ArrayList<WellFormedName>();
+    WellFormedName wfn;
+    while ((wfn = read()) != null) {
+      retval.add(wfn);
+    }
+    return retval;
+  }
+
+  /**
+   * Reads the values of the next record into the builder.
+   * 
+   * @return {@code true} if a record was read, or {@code false} if the end of the stream has been
+   *         reached
+   * @throws IOException
+   *           if an error occurs while reading, or if the stream is malformed
+   */
+  private boolean readRecord() throws IOException {
+    if (ended) {
+      return false;
+    }
+    int marker = readByte();
+    if (marker == CpeBinaryWriter.END) {
+      ended = true;
+      return false;
+    }
+    if (marker != CpeBinaryWriter.RECORD) {
+      throw new IOException("Invalid record marker: " + marker);
+    }
+    for (Attribute attribute : ATTRIBUTES) {
+      builder.set(attribute, readValue(attribute));
+    }
+    return true;
+  }
+
+  private Object readValue(Attribute attribute) throws IOException {
+    int tag = readUnsigned();
+    switch (tag) {
+    case CpeBinaryWriter.ANY_TAG:
+      return LogicalValue.ANY;
+    case CpeBinaryWriter.NA_TAG:
+      // the writer stores an unset part as ANY, so NA can only come from a corrupt stream
+      if (Attribute.PART.equals(attribute)) {
+        throw new IOException("Invalid " + attribute + " value (" + ParseError.LOGICAL_PART + "): NA");
+      }
+      return LogicalValue.NA;
+    case CpeBinaryWriter.STRING_TAG:
+      String str = readString(readUnsigned());
+      checkValue(attribute, str, WellFormedName.validate(attribute, str));
+      strings.add(str);
+      return str;
+    default:
+      int index = tag - CpeBinaryWriter.STRING_TAG - 1;
+      if (index < 0 || index >= strings.size()) {
+        throw new IOException("Invalid string reference: " + index);
+      }
+      String retval = strings.get(index);
+      // the string was checked when it was added, but only the part is restricted to specific values
+      if (Attribute.PART.equals(attribute) && !"a".equals(retval) && !"o".equals(retval) && !"h".equals(retval)) {
+        checkValue(attribute, retval, ParseError.INVALID_PART);
+      }
+      return retval;
+    }
+  }
+
+  private static void checkValue(Attribute attribute, String value, ParseError error) throws IOException {
+    if (error != null) {
+      throw new IOException("Invalid " + attribute + " value (" + error + "): " + value);
+    }
+  }
+
+  private String readString(int length) throws IOException {
+    if (length < 0 || length > MAXIMUM_STRING_LENGTH) {
+      throw new IOException("Invalid string length: " + length);
+    }
+    if (limit - position >= length) {
+      // decode the string directly from the buffer
+      String retval = new String(buffer, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return retval;
+    }
+    byte[] bytes = new byte[length];
+    readFully(bytes, length);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int readByte() throws IOException {
+    if (position == limit && !fill()) {
+      throw new EOFException("Unexpected end of binary CPE name stream");
+    }
+    return buffer[position++] & 0xFF;
+  }
+
+  private void readFully(byte[] bytes, int length) throws IOException {
+    int offset = 0;
+    while (offset < length) {
+      if (position == limit && !fill()) {
+        throw new EOFException("Unexpected end of binary CPE name stream");
+      }
+      int count = Math.min(length - offset, limit - position);
+      System.arraycopy(buffer, position, bytes, offset, count);
+      position += count;
+      offset += count;
+    }
+  }
+
+  private boolean fill() throws IOException {
+    int count = in.read(buffer, 0, buffer.length);
+    if (count <= 0) {
+      return false;
+    }
+    position = 0;
+    limit = count;
+    return true;
+  }
+
+  private int readUnsigned() throws IOException {
+    int retval = 0;
+    for (int shift = 0; shift < 32; shift += 7) {
+      int value = readByte();
+      retval |= (value & 0x7F) << shift;
+      if ((value & 0x80) == 0) {
+        return retval;
+      }
+    }
+    throw new IOException("Malformed variable length integer");
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
@@ -0,0 +1,159 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming.util;
+
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.common.WellFormedNameView;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes a stream of Well Formed Names in a compact binary format that can be loaded by
+ * {@link CpeBinaryReader} much faster than the names can be unbound from text.
+ * <p>
+ * The stream starts with the bytes {@code CPEB} followed by the format version. Each name is written
+ * as a {@value #RECORD} marker followed by the value of each attribute in declaration order, and the
+ * stream is terminated by a {@value #END} marker. Each value is written as an unsigned variable
+ * length integer tag:
+ * <ul>
+ * <li>{@value #ANY_TAG} for {@link LogicalValue#ANY}</li>
+ * <li>{@value #NA_TAG} for {@link LogicalValue#NA}</li>
+ * <li>{@value #STRING_TAG} for a string that has not been written before, followed by the length of
+ * its UTF-8 encoding and the encoded bytes. The string is assigned the next index in the string
+ * table, starting at zero.</li>
+ * <li>{@value #STRING_TAG} + 1 + <i>n</i> for the string at index <i>n</i> of the string table</li>
+ * </ul>
+ * <p>
+ * Each distinct string is therefore written once, and a repeated value takes as little as a single
+ * byte. This class is not thread-safe.
+ */
+public class CpeBinaryWriter implements Closeable, Flushable {
+  static final byte[] MAGIC = { 'C', 'P', 'E', 'B' };
+  static final int VERSION = 1;
+  static final int END = 0;
+  static final int RECORD = 1;
+  static final int ANY_TAG = 0;
+  static final int NA_TAG = 1;
+  static final int STRING_TAG = 2;
+
+  private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+  private final OutputStream out;
+  private final Map<String, Integer> strings = new HashMap<String, Integer>();
+  private boolean closed;
+
+  /**
+   * Constructs a new writer, writing the start of the stream to the provided output stream.
+   * 
+   * @param out
+   *          the stream to write to, which is closed when this writer is closed
+   * @throws IOException
+   *           if an error occurs while writing
+   */
+  public CpeBinaryWriter(OutputStream out) throws IOException {
+    this.out = new BufferedOutputStream(out);
+    this.out.write(MAGIC);
+    writeUnsigned(VERSION);
+  }
+
+  /**
+   * Writes a name to the stream.
+   * 
+   * @param wfn
+   *          the name to write
+   * @throws IOException
+   *           if an error occurs while writing, or if this writer has been closed
+   */
+  public void write(WellFormedNameView wfn) throws IOException {
+    if (closed) {
+      throw new IOException("Writer closed");
+    }
+    out.write(RECORD);
+    for (Attribute attribute : ATTRIBUTES) {
+      writeValue(wfn.get(attribute));
+    }
+  }
+
+  private void writeValue(Object value) throws IOException {
+    if (value == null || LogicalValue.ANY.equals(value)) {
+      writeUnsigned(ANY_TAG);
+    } else if (LogicalValue.NA.equals(value)) {
+      writeUnsigned(NA_TAG);
+    } else {
+      String str = (String) value;
+      Integer index = strings.get(str);
+      if (index == null) {
+        strings.put(str, strings.size());
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeUnsigned(STRING_TAG);
+        writeUnsigned(bytes.length);
+        out.write(bytes);
+      } else {
+        writeUnsigned(STRING_TAG + 1 + index);
+      }
+    }
+  }
+
+  private void writeUnsigned(int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  /**
+   * Writes the end of the stream, and closes the underlying output stream.
+   * 
+   * @throws IOException
+   *           if an error occurs while writing
+   */
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      try {
+        out.write(END);
+      } finally {
+        out.close();
+      }
+    }
+  }
+}
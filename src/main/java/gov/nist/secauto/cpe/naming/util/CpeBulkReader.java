@@ -0,0 +1,392 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming.util;
+
+import gov.nist.secauto.cpe.common.ParseResult;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads newline-delimited CPE names, parsing them in parallel. Each line may be either a URI or a
+ * formatted string, detected in the same way as {@link CPEFactory#newCPEName(String)}. Blank lines
+ * are ignored, and leading and trailing whitespace is removed from each line.
+ * <p>
+ * The input is read on the calling thread and split into chunks of lines, which are parsed on the
+ * configured executor. A bounded number of chunks are parsed ahead of the consumer, so memory use
+ * does not depend on the size of the input. Names are always delivered in input order, and lines
+ * that cannot be parsed are reported to a {@link MalformedLineHandler} on the calling thread.
+ * <p>
+ * A reader holds no state between calls, so a single instance may be used by multiple threads.
+ */
+public final class CpeBulkReader {
+  /**
+   * The number of lines in each chunk used by {@link #CpeBulkReader()}.
+   */
+  public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+  /**
+   * Receives the lines that could not be parsed.
+   */
+  @FunctionalInterface
+  public interface MalformedLineHandler {
+    /**
+     * Handles a line that could not be parsed.
+     * 
+     * @param lineNumber
+     *          the one-based number of the line in the input
+     * @param line
+     *          the content of the line, with leading and trailing whitespace removed
+     * @param result
+     *          the result of parsing the line, describing the error that prevented it from being
+     *          parsed
+     */
+    void handle(long lineNumber, String line, ParseResult result);
+  }
+
+  private final Executor executor;
+  private final int chunkSize;
+  private final int window;
+
+  /**
+   * Constructs a new reader that parses chunks of {@link #DEFAULT_CHUNK_SIZE} lines using the common
+   * fork/join pool.
+   */
+  public CpeBulkReader() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructs a new reader that parses chunks of lines using the provided executor.
+   * 
+   * @param executor
+   *          the executor used to parse each chunk
+   * @param chunkSize
+   *          the number of lines in each chunk
+   * @throws IllegalArgumentException
+   *           if the chunk size is not positive
+   */
+  public CpeBulkReader(Executor executor, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+    }
+    this.executor = executor;
+    this.chunkSize = chunkSize;
+    // keep enough chunks in flight to occupy every processor while the consumer catches up
+    this.window = Runtime.getRuntime().availableProcessors() * 2;
+  }
+
+  /**
+   * Reads and parses every name in a file, delivering the names in batches. Each batch holds the
+   * names parsed from one chunk of the file, in input order.
+   * 
+   * @param path
+   *          the file to read
+   * @param batchConsumer
+   *          receives each non-empty batch of names on the calling thread
+   * @param handler
+   *          receives each line that could not be parsed on the calling thread
+   * @throws IOException
+   *           if an error occurs while reading the file
+   */
+  public void read(Path path, Consumer<? super List<CPEName>> batchConsumer, MalformedLineHandler handler)
+      throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      read(reader, batchConsumer, handler);
+    }
+  }
+
+  /**
+   * Reads and parses every name in a stream, delivering the names in batches. Each batch holds the
+   * names parsed from one chunk of the stream, in input order. The stream is not closed.
+   * 
+   * @param in
+   *          the stream to read
+   * @param batchConsumer
+   *          receives each non-empty batch of names on the calling thread
+   * @param handler
+   *          receives each line that could not be parsed on the calling thread
+   * @throws IOException
+   *           if an error occurs while reading the stream
+   */
+  public void read(InputStream in, Consumer<? super List<CPEName>> batchConsumer, MalformedLineHandler handler)
+      throws IOException {
+    read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), batchConsumer, handler);
+  }
+
+  private void read(BufferedReader reader, Consumer<? super List<CPEName>> batchConsumer,
+      MalformedLineHandler handler) throws IOException {
+    try (Pipeline pipeline = new Pipeline(reader, false, handler)) {
+      List<CPEName> batch;
+      while ((batch = pipeline.nextChunk()) != null) {
+        if (!batch.isEmpty()) {
+          batchConsumer.accept(batch);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns a sequential, ordered stream of the names in a file. The file is read and parsed as the
+   * stream is consumed, and is closed when the stream is closed, so the stream should be used in a
+   * try-with-resources statement.
+   * 
+   * @param path
+   *          the file to read
+   * @param handler
+   *          receives each line that could not be parsed on the thread consuming the stream
+   * @return the stream of names
+   * @throws IOException
+   *           if the file cannot be opened
+   */
+  public Stream<CPEName> stream(Path path, MalformedLineHandler handler) throws IOException {
+    return stream(Files.newBufferedReader(path, StandardCharsets.UTF_8), handler);
+  }
+
+  /**
+   * Returns a sequential, ordered stream of the names in an input stream. The input is read and
+   * parsed as the stream is consumed, and is closed when the stream is closed. An error that occurs
+   * while reading is raised as an {@link UncheckedIOException}.
+   * 
+   * @param in
+   *          the input to read
+   * @param handler
+   *          receives each line that could not be parsed on the thread consuming the stream
+   * @return the stream of names
+   */
+  public Stream<CPEName> stream(InputStream in, MalformedLineHandler handler) {
+    return stream(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), handler);
+  }
+
+  private Stream<CPEName> stream(BufferedReader reader, MalformedLineHandler handler) {
+    Pipeline pipeline = new Pipeline(reader, true, handler);
+    return StreamSupport
+        .stream(Spliterators.spliteratorUnknownSize(pipeline, Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .flatMap(List::stream).onClose(pipeline::closeUnchecked);
+  }
+
+  /**
+   * A line that could not be parsed.
+   */
+  private static final class Malformed {
+    private final long lineNumber;
+    private final String line;
+    private final ParseResult result;
+
+    private Malformed(long lineNumber, String line, ParseResult result) {
+      this.lineNumber = lineNumber;
+      this.line = line;
+      this.result = result;
+    }
+  }
+
+  /**
+   * The result of parsing a chunk of lines.
+   */
+  private static final class Chunk {
+    private final List<CPEName> names;
+    private final List<Malformed> malformed;
+
+    private Chunk(List<CPEName> names, List<Malformed> malformed) {
+      this.names = names;
+      this.malformed = malformed;
+    }
+
+    private static Chunk parse(String[] lines, long[] lineNumbers, int count) {
+      List<CPEName> names = new ArrayList<>(count);
+      List<Malformed> malformed = Collections.emptyList();
+      for (int i = 0; i < count; i++) {
+        // malformed lines are expected, so they are detected without the cost of an exception
+        ParseResult result = CPEFactory.tryParse(lines[i]);
+        if (result.isSuccess()) {
+          names.add(CPEFactory.newCPEName(lines[i], result.getWellFormedName()));
+        } else {
+          if (malformed.isEmpty()) {
+            malformed = new ArrayList<>();
+          }
+          malformed.add(new Malformed(lineNumbers[i], lines[i], result));
+        }
+      }
+      return new Chunk(names, malformed);
+    }
+  }
+
+  /**
+   * Reads chunks of lines and parses them on the executor, keeping a window of chunks in flight.
+   * Each call to {@link #next()} returns the names from the next chunk in input order.
+   */
+  private final class Pipeline implements Iterator<List<CPEName>>, Closeable {
+    private final BufferedReader reader;
+    private final boolean closeReader;
+    private final MalformedLineHandler handler;
+    private final Deque<CompletableFuture<Chunk>> pending = new ArrayDeque<>();
+    private long lineNumber;
+    private boolean eof;
+
+    private Pipeline(BufferedReader reader, boolean closeReader, MalformedLineHandler handler) {
+      this.reader = reader;
+      this.closeReader = closeReader;
+      this.handler = handler;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        fill();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      return !pending.isEmpty();
+    }
+
+    @Override
+    public List<CPEName> next() {
+      List<CPEName> retval;
+      try {
+        retval = nextChunk();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      if (retval == null) {
+        throw new NoSuchElementException();
+      }
+      return retval;
+    }
+
+    /**
+     * Waits for the next chunk to be parsed, reporting its malformed lines to the handler.
+     * 
+     * @return the names from the next chunk in input order, or {@code null} if every chunk has been
+     *         returned
+     * @throws IOException
+     *           if an error occurs while reading the input
+     */
+    private List<CPEName> nextChunk() throws IOException {
+      fill();
+      if (pending.isEmpty()) {
+        return null;
+      }
+      Chunk chunk = await(pending.removeFirst());
+      for (Malformed malformed : chunk.malformed) {
+        handler.handle(malformed.lineNumber, malformed.line, malformed.result);
+      }
+      fill();
+      return chunk.names;
+    }
+
+    /**
+     * Reads and submits chunks until the window is full or the input is exhausted.
+     * 
+     * @throws IOException
+     *           if an error occurs while reading the input
+     */
+    private void fill() throws IOException {
+      while (!eof && pending.size() < window) {
+        String[] lines = new String[chunkSize];
+        long[] lineNumbers = new long[chunkSize];
+        int count = 0;
+        while (count < chunkSize) {
+          String line = reader.readLine();
+          if (line == null) {
+            eof = true;
+            break;
+          }
+          lineNumber++;
+          line = line.trim();
+          if (!line.isEmpty()) {
+            lines[count] = line;
+            lineNumbers[count] = lineNumber;
+            count++;
+          }
+        }
+        if (count > 0) {
+          int size = count;
+          pending.addLast(CompletableFuture.supplyAsync(() -> Chunk.parse(lines, lineNumbers, size), executor));
+        }
+      }
+    }
+
+    private Chunk await(CompletableFuture<Chunk> future) {
+      try {
+        return future.get();
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while parsing CPE names", ex);
+      } catch (ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        if (cause instanceof RuntimeException) {
+          throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+          throw (Error) cause;
+        }
+        throw new IllegalStateException(cause);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      for (CompletableFuture<Chunk> future : pending) {
+        future.cancel(false);
+      }
+      pending.clear();
+      if (closeReader) {
+        reader.close();
+      }
+    }
+
+    private void closeUnchecked() {
+      try {
+        close();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+}
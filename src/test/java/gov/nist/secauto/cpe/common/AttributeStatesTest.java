@@ -0,0 +1,72 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+
+class AttributeStatesTest {
+
+  @Test
+  void testOf() {
+    assertEquals(AttributeStates.ANY, AttributeStates.of(LogicalValue.ANY));
+    assertEquals(AttributeStates.NA, AttributeStates.of(LogicalValue.NA));
+    assertEquals(AttributeStates.SIMPLE, AttributeStates.of("internet_explorer"));
+    assertEquals(AttributeStates.COMPLEX, AttributeStates.of("8\\.0"));
+    assertEquals(AttributeStates.COMPLEX, AttributeStates.of("8*"));
+    assertEquals(AttributeStates.COMPLEX, AttributeStates.of("?8"));
+  }
+
+  @Test
+  void testWellFormedName() throws ParseException {
+    WellFormedName wfn = new WellFormedName();
+    assertEquals(0, wfn.getAttributeStates());
+
+    wfn.set(Attribute.PART, "a");
+    wfn.set(Attribute.VENDOR, "microsoft");
+    wfn.set(Attribute.VERSION, "8\\.0*");
+    wfn.set(Attribute.UPDATE, LogicalValue.NA);
+    int states = wfn.getAttributeStates();
+    assertEquals(AttributeStates.SIMPLE, AttributeStates.get(states, Attribute.PART));
+    assertEquals(AttributeStates.SIMPLE, AttributeStates.get(states, Attribute.VENDOR));
+    assertEquals(AttributeStates.ANY, AttributeStates.get(states, Attribute.PRODUCT));
+    assertEquals(AttributeStates.COMPLEX, AttributeStates.get(states, Attribute.VERSION));
+    assertEquals(AttributeStates.NA, AttributeStates.get(states, Attribute.UPDATE));
+    assertEquals(AttributeStates.of((WellFormedNameView) wfn::get), states);
+    assertEquals(states, wfn.toCompact().getAttributeStates());
+
+    // the states follow the values as they change
+    wfn.set(Attribute.VERSION, null);
+    assertEquals(AttributeStates.ANY, AttributeStates.get(wfn.getAttributeStates(), Attribute.VERSION));
+    assertEquals(AttributeStates.with(states, Attribute.VERSION, AttributeStates.ANY), wfn.getAttributeStates());
+  }
+}
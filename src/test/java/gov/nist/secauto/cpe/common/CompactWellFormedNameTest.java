@@ -0,0 +1,85 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.matching.CPENameMatcher;
+import gov.nist.secauto.cpe.naming.CPENameBinder;
+import gov.nist.secauto.cpe.naming.CPENameUnbinder;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.HashSet;
+import java.util.Set;
+
+class CompactWellFormedNameTest {
+
+  @Test
+  void testValueEquality() throws ParseException {
+    WellFormedName wfn = CPENameUnbinder.unbindFS("cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*");
+    CompactWellFormedName first = wfn.toCompact();
+    CompactWellFormedName second
+        = CPENameUnbinder.unbindURI("cpe:/a:microsoft:internet_explorer:8.0.6001:beta").toCompact();
+
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+    assertSame(first, CompactWellFormedName.of(first));
+    for (Attribute attribute : Attribute.values()) {
+      assertEquals(wfn.get(attribute), first.get(attribute));
+    }
+
+    // the copy is not affected by later changes to the mutable name
+    wfn.set(Attribute.UPDATE, "sp1");
+    assertEquals("beta", first.get(Attribute.UPDATE));
+    assertNotEquals(first, wfn.toCompact());
+
+    Set<CompactWellFormedName> names = new HashSet<>();
+    names.add(first);
+    names.add(second);
+    names.add(wfn.toCompact());
+    assertEquals(2, names.size());
+  }
+
+  @Test
+  void testConversion() throws ParseException {
+    String fs = "cpe:2.3:a:hp:insight_diagnostics:7.4.0.1570:-:*:*:online:win2003:x64:*";
+    WellFormedName wfn = CPENameUnbinder.unbindFS(fs);
+    CompactWellFormedName compact = wfn.toCompact();
+
+    assertEquals(wfn.toString(), compact.toString());
+    assertEquals(wfn.toString(), compact.toWellFormedName().toString());
+    assertEquals(fs, CPENameBinder.bindToFS(compact));
+    assertEquals(CPENameBinder.bindToURI(wfn), CPENameBinder.bindToURI(compact));
+    assertTrue(CPENameMatcher.isEqual(wfn, compact));
+  }
+}
@@ -0,0 +1,98 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+
+class CpeFingerprintTest {
+
+  private static WellFormedName wfn(Object vendor, Object product, Object version) throws ParseException {
+    return new WellFormedName("a", vendor, product, version, null, null, null, null, null, null, null);
+  }
+
+  @Test
+  void testOf() throws ParseException {
+    long fingerprint = CpeFingerprint.of(wfn("microsoft", "internet_explorer", "8\\.0"));
+    // the fingerprint is stable between releases
+    assertEquals(0x86629e4a571297f8L, fingerprint);
+    assertEquals(0x322f54989a770fa9L, CpeFingerprint.of(new WellFormedName()));
+
+    // normalized values have the same fingerprint
+    assertEquals(fingerprint, CpeFingerprint.of(wfn("Microsoft", "Internet_Explorer", "8\\.0")));
+    assertEquals(fingerprint, CpeFingerprint.of(wfn("micro\\soft", "internet\\_explorer", "\\8\\.0")));
+    assertEquals(fingerprint, CpeFingerprint.of(wfn("microsoft", "internet_explorer", "8\\.0").toCompact()));
+
+    assertNotEquals(fingerprint, CpeFingerprint.of(wfn("microsoft", "internet_explorer", "8\\.1")));
+    assertNotEquals(fingerprint, CpeFingerprint.of(wfn("microsoft", "internet_explorer", "8\\-0")));
+    // logical values and the boundaries between values are distinguished
+    assertNotEquals(CpeFingerprint.of(wfn(LogicalValue.ANY, null, null)),
+        CpeFingerprint.of(wfn(LogicalValue.NA, null, null)));
+    assertNotEquals(CpeFingerprint.of(wfn("ab", "c", null)), CpeFingerprint.of(wfn("a", "bc", null)));
+    assertNotEquals(CpeFingerprint.of(wfn("a", null, null)), CpeFingerprint.of(wfn(null, "a", null)));
+  }
+
+  @Test
+  void testPartition() throws ParseException {
+    // the same values as the reference implementation of the jump consistent hash
+    assertEquals(0, CpeFingerprint.partition(0L, 1000));
+    assertEquals(549, CpeFingerprint.partition(1L, 1000));
+    assertEquals(313, CpeFingerprint.partition(-1L, 1000));
+
+    int[] counts = new int[8];
+    for (int i = 0; i < 8000; i++) {
+      WellFormedName wfn = wfn("vendor" + i, "product", null);
+      int partition = CpeFingerprint.partition(wfn, counts.length);
+      counts[partition]++;
+      // growing the number of partitions only moves names to the new partition
+      int grown = CpeFingerprint.partition(CpeFingerprint.of(wfn), counts.length + 1);
+      assertTrue(grown == partition || grown == counts.length);
+    }
+    for (int count : counts) {
+      assertTrue(count > 800 && count < 1200, "uneven partition: " + count);
+    }
+    assertEquals(0, CpeFingerprint.partition(42L, 1));
+    assertThrows(IllegalArgumentException.class, () -> CpeFingerprint.partition(42L, 0));
+  }
+
+  @Test
+  void testAttributeOrder() throws ParseException {
+    WellFormedName first = new WellFormedName();
+    first.set(Attribute.TARGET_SW, "windows");
+    WellFormedName second = new WellFormedName();
+    second.set(Attribute.TARGET_HW, "windows");
+    assertNotEquals(CpeFingerprint.of(first), CpeFingerprint.of(second));
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+class WellFormedNameComparatorTest {
+  private static final WellFormedNameComparator COMPARATOR = WellFormedNameComparator.INSTANCE;
+
+  private static WellFormedName wfn(Object vendor, Object product) throws ParseException {
+    return new WellFormedName("a", vendor, product, null, null, null, null, null, null, null, null);
+  }
+
+  @Test
+  void testCompare() throws ParseException {
+    List<WellFormedName> names = Arrays.asList(wfn(LogicalValue.ANY, "b"), wfn(LogicalValue.NA, "a"),
+        wfn("Apache", "b"), wfn("apache", "b"), wfn("apache", "b\\-c"), wfn("apache", "bc"),
+        wfn("apache_foundation", LogicalValue.ANY), wfn("b", LogicalValue.ANY));
+    List<WellFormedName> sorted = new ArrayList<WellFormedName>(names);
+    Collections.shuffle(sorted, new Random(25));
+    sorted.sort(COMPARATOR);
+    for (int i = 0; i < names.size(); i++) {
+      assertEquals(names.get(i).toString(), sorted.get(i).toString());
+    }
+
+    // names that differ only in case or quoting are adjacent, but not equal
+    assertEquals(WellFormedNameComparator.sortKey(wfn("Apache", "b")),
+        WellFormedNameComparator.sortKey(wfn("apache", "\\b")));
+    assertNotEquals(0, COMPARATOR.compare(wfn("apache", "\\b"), wfn("apache", "b")));
+    assertEquals(0, COMPARATOR.compare(wfn("apache", "\\b"), wfn("apache", "\\b").toCompact()));
+    assertTrue(wfn("apache", "b").toCompact().compareTo(wfn("apache_foundation", null).toCompact()) < 0);
+  }
+
+  @Test
+  void testSortKey() throws ParseException {
+    assertEquals("\u0003a\u0000\u0002\u0003b\\-c\u0000",
+        WellFormedNameComparator.sortKey(wfn(LogicalValue.NA, "B\\-\\c"), 3));
+    assertEquals("", WellFormedNameComparator.sortKey(wfn("apache", "b"), 0));
+    assertThrows(IllegalArgumentException.class, () -> WellFormedNameComparator.sortKey(new WellFormedName(), 12));
+
+    // the order of the keys is consistent with the comparator
+    Random random = new Random(25);
+    String alphabet = "aAbB_\\\\..--";
+    List<WellFormedName> names = new ArrayList<WellFormedName>();
+    while (names.size() < 300) {
+      Object[] values = new Object[2];
+      for (int i = 0; i < values.length; i++) {
+        int kind = random.nextInt(4);
+        if (kind == 0) {
+          values[i] = LogicalValue.ANY;
+        } else if (kind == 1) {
+          values[i] = LogicalValue.NA;
+        } else {
+          StringBuilder value = new StringBuilder();
+          for (int length = 1 + random.nextInt(4); value.length() < length;) {
+            char ch = alphabet.charAt(random.nextInt(alphabet.length()));
+            value.append(ch == '\\' || ch == '.' || ch == '-' ? "\\" + ch : String.valueOf(ch));
+          }
+          values[i] = value.toString();
+        }
+      }
+      names.add(wfn(values[0], values[1]));
+    }
+    for (WellFormedName first : names) {
+      String firstKey = WellFormedNameComparator.sortKey(first);
+      for (WellFormedName second : names) {
+        int order = Integer.signum(COMPARATOR.compare(first, second));
+        assertEquals(-order, Integer.signum(COMPARATOR.compare(second, first)));
+        int keyOrder = Integer.signum(firstKey.compareTo(WellFormedNameComparator.sortKey(second)));
+        if (keyOrder != 0) {
+          assertEquals(keyOrder, order, first + " " + second);
+        }
+        assertEquals(order == 0, first.toCompact().equals(second.toCompact()));
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+
+class WellFormedNameTest {
+
+  @Test
+  void testSet() throws ParseException {
+    WellFormedName wfn = new WellFormedName();
+    wfn.set(Attribute.PART, "a");
+    wfn.set(Attribute.VENDOR, "micr\\?osoft");
+    wfn.set(Attribute.PRODUCT, "*explorer??");
+    wfn.set(Attribute.VERSION, "??8\\.\\*");
+    wfn.set(Attribute.UPDATE, "?");
+    wfn.set(Attribute.EDITION, "");
+    assertEquals("micr\\?osoft", wfn.get(Attribute.VENDOR));
+    assertEquals("*explorer??", wfn.get(Attribute.PRODUCT));
+    assertEquals("??8\\.\\*", wfn.get(Attribute.VERSION));
+    assertEquals("?", wfn.get(Attribute.UPDATE));
+    assertEquals(LogicalValue.ANY, wfn.get(Attribute.EDITION));
+  }
+
+  @Test
+  void testSetInvalid() {
+    assertInvalid(Attribute.VENDOR, "foo\tbar", "Error! encountered non printable character in: foo\tbar");
+    assertInvalid(Attribute.VENDOR, "foo bar", "Error! component cannot contain whitespace: foo bar");
+    assertInvalid(Attribute.VENDOR, "**foo", "Error! component cannot contain more than one * in sequence: **foo");
+    assertInvalid(Attribute.VENDOR, "foo.bar", "Error! component cannot contain unquoted punctuation: foo.bar");
+    // punctuation is reported before an earlier embedded *
+    assertInvalid(Attribute.VENDOR, "f*o-o", "Error! component cannot contain unquoted punctuation: f*o-o");
+    assertInvalid(Attribute.VENDOR, "foo*bar", "Error! component cannot contain embedded *: foo*bar");
+    assertInvalid(Attribute.VENDOR, "??foo?bar?", "Error! component cannot contain embedded ?: ??foo?bar?");
+    assertInvalid(Attribute.VENDOR, "*", "Error! component cannot be a single *: *");
+    assertInvalid(Attribute.VENDOR, "-", "Error! component cannot contain unquoted punctuation: -");
+    assertInvalid(Attribute.PART, "x", "Error! part component must be one of the following: 'a', 'o', 'h': x");
+    assertInvalid(Attribute.PART, LogicalValue.ANY, "Error! part component cannot be a logical value");
+  }
+
+  @Test
+  void testTrySet() {
+    WellFormedName wfn = new WellFormedName();
+    assertNull(wfn.trySet(Attribute.VENDOR, "microsoft"));
+    assertEquals(ParseError.UNQUOTED_PUNCTUATION, wfn.trySet(Attribute.VENDOR, "foo.bar"));
+    // the attribute is left unchanged by a failed set
+    assertEquals("microsoft", wfn.get(Attribute.VENDOR));
+    assertEquals(ParseError.LOGICAL_PART, wfn.trySet(Attribute.PART, LogicalValue.NA));
+  }
+
+  @Test
+  void testBuilder() throws ParseException {
+    WellFormedName.Builder builder = WellFormedName.builder().set(Attribute.PART, "a")
+        .set(Attribute.VENDOR, "microsoft").set(Attribute.PRODUCT, "internet_explorer")
+        .set(Attribute.UPDATE, LogicalValue.NA).set(Attribute.EDITION, "");
+    WellFormedName wfn = builder.build();
+    assertEquals(new WellFormedName("a", "microsoft", "internet_explorer", null, LogicalValue.NA, null, null, null,
+        null, null, null).toString(), wfn.toString());
+    assertEquals(wfn.toString(), builder.buildTrusted().toString());
+    // names are independent of the builder
+    builder.set(Attribute.VENDOR, "foo.bar");
+    assertEquals("microsoft", wfn.get(Attribute.VENDOR));
+
+    ParseException ex = assertThrows(ParseException.class, builder::build);
+    assertEquals("Error! component cannot contain unquoted punctuation: foo.bar", ex.getMessage());
+    assertEquals("foo.bar", builder.buildTrusted().get(Attribute.VENDOR));
+    assertThrows(ParseException.class, () -> WellFormedName.builder().set(Attribute.PART, LogicalValue.ANY).build());
+
+    // without a part, a built name matches one constructed with the defaults
+    assertEquals(new WellFormedName().toString(), WellFormedName.builder().build().toString());
+  }
+
+  @Test
+  void testBuildCompactTrusted() {
+    WellFormedName.Builder builder = WellFormedName.builder().set(Attribute.VENDOR, "acme")
+        .set(Attribute.UPDATE, LogicalValue.NA).set(Attribute.EDITION, "");
+    CompactWellFormedName compact = builder.buildCompactTrusted();
+    CompactWellFormedName expected = CompactWellFormedName.of(builder.buildTrusted());
+
+    // an unset part reads as ANY, as it does from a WellFormedName
+    assertEquals(LogicalValue.ANY, compact.get(Attribute.PART));
+    assertEquals(LogicalValue.ANY, compact.get(Attribute.EDITION));
+    assertEquals(expected, compact);
+    assertEquals(expected.getAttributeStates(), compact.getAttributeStates());
+    assertEquals(CpeFingerprint.of(expected), CpeFingerprint.of(compact));
+    assertEquals(expected.toString(), compact.toString());
+  }
+
+  private static void assertInvalid(Attribute attribute, Object value, String message) {
+    ParseException ex = assertThrows(ParseException.class, () -> new WellFormedName().set(attribute, value));
+    assertEquals(message, ex.getMessage());
+  }
+}
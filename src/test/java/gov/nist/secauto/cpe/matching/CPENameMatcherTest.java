@@ -26,17 +26,25 @@
 
 package gov.nist.secauto.cpe.matching;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import gov.nist.secauto.cpe.common.LogicalValue;
 import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
 import gov.nist.secauto.cpe.matching.CPENameMatcher;
 import gov.nist.secauto.cpe.naming.CPENameUnbinder;
 
 import org.junit.jupiter.api.Test;
 
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 class CPENameMatcherTest {
 
@@ -61,4 +69,59 @@ class CPENameMatcherTest {
     assertFalse(CPENameMatcher.isSuperset(wfn, wfn2));
   }
 
+  @Test
+  void testWellFormedNameOverloads() throws NoSuchMethodException {
+    // code compiled against earlier releases links to the WellFormedName signatures
+    for (String name : new String[] { "isDisjoint", "isEqual", "isSubset", "isSuperset", "compareWFNs" }) {
+      assertNotNull(CPENameMatcher.class.getMethod(name, WellFormedName.class, WellFormedName.class));
+    }
+  }
+
+  @Test
+  void testCompareAttributes() throws ParseException {
+    WellFormedName wfn = CPENameUnbinder.unbindFS("cpe:2.3:a:adobe:*:9.*:*:PalmOS:*:*:*:*:*");
+    WellFormedName wfn2 = CPENameUnbinder.unbindURI("cpe:/a::Reader:9.3.2:-:-");
+
+    RelationVector vector = CPENameMatcher.compareAttributes(wfn, wfn2);
+    assertEquals(CPENameMatcher.compareWFNs(wfn, wfn2), vector.toMap());
+    assertEquals(Relation.EQUAL, vector.get(Attribute.PART));
+    assertEquals(Relation.SUBSET, vector.get(Attribute.VENDOR));
+    assertEquals(Relation.SUPERSET, vector.get(Attribute.PRODUCT));
+    assertEquals(Relation.SUPERSET, vector.get(Attribute.VERSION));
+    assertEquals(Relation.DISJOINT, vector.get(Attribute.EDITION));
+    assertEquals(vector, RelationVector.valueOf(vector.toLong()));
+    assertTrue(vector.isDisjoint());
+    assertFalse(vector.isEqual());
+    assertFalse(vector.isSubset());
+    assertFalse(vector.isSuperset());
+  }
+
+  @Test
+  void testMatchAll() throws ParseException {
+    List<WellFormedName> names = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      names.add(new WellFormedName("a", "vendor" + (i % 7), i % 5 == 0 ? LogicalValue.ANY : "product" + (i % 11),
+          i % 3 == 0 ? LogicalValue.NA : Integer.toString(i % 4), null, null, null, null, null, null, null));
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<BitSet> results
+          = CPENameMatcher.matchAll(names, names, EnumSet.of(Relation.SUPERSET, Relation.EQUAL), pool);
+      List<BitSet> exact = CPENameMatcher.matchAll(names, names, Relation.SUPERSET, pool);
+      assertEquals(names.size(), results.size());
+      for (int i = 0; i < names.size(); i++) {
+        WellFormedName source = names.get(i);
+        for (int j = 0; j < names.size(); j++) {
+          WellFormedName target = names.get(j);
+          assertEquals(CPENameMatcher.isSuperset(source, target), results.get(i).get(j));
+          // a single relation excludes equal names
+          assertEquals(CPENameMatcher.isSuperset(source, target) && !CPENameMatcher.isEqual(source, target),
+              exact.get(i).get(j));
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
 }
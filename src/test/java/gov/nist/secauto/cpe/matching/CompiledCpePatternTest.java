@@ -0,0 +1,119 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.naming.CPENameUnbinder;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+class CompiledCpePatternTest {
+  private static final String[] NAMES = { "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:sp2:*:*:*:*",
+      "cpe:2.3:a:microsoft:internet_explorer:*:*:*:*:*:*:*:*", "cpe:2.3:a:Microsoft:Internet_Explorer:8.*:*:*:*:*:*:*:*",
+      "cpe:2.3:a:microsoft:internet_explorer:8.?:*:*:*:*:*:*:*", "cpe:2.3:a:adobe:*:9.*:*:PalmOS:*:*:*:*:*",
+      "cpe:2.3:a:adobe:reader:9.3.2:-:-:*:*:*:*:*", "cpe:2.3:a:adobe:reader:*9.3:-:*:*:*:*:*:*",
+      "cpe:2.3:a:adobe:reader:??.3.2:-:-:*:*:*:*:*", "cpe:2.3:o:microsoft:windows_10:-:*:*:*:*:*:x64:*",
+      "cpe:2.3:o:microsoft:windows_10:1607:*:*:*:*:*:x64:*", "cpe:2.3:a:hp:insight:7.4.0.1570:-:*:*:online:win2003:x64:*",
+      "cpe:2.3:a:hp:\\\\insight:7.4.0.1570:*:*:*:*:*:*:*", "cpe:2.3:a:foo\\$bar:insight:*:*:*:*:*:*:*:*",
+      "cpe:2.3:a:foo\\$bar:insight:?:*:*:*:*:*:*:*", "cpe:2.3:a:foo:insight:*?:*:*:*:*:*:*:*" };
+
+  private static List<WellFormedName> names() throws ParseException {
+    List<WellFormedName> retval = new ArrayList<>(NAMES.length);
+    for (String name : NAMES) {
+      retval.add(CPENameUnbinder.unbindFS(name));
+    }
+    return retval;
+  }
+
+  @Test
+  void testSameResultsAsMatcher() throws ParseException {
+    List<WellFormedName> names = names();
+    for (WellFormedName source : names) {
+      CompiledCpePattern pattern = new CompiledCpePattern(source);
+      for (WellFormedName target : names) {
+        Map<Attribute, Relation> expected = CPENameMatcher.compareWFNs(source, target);
+        for (Attribute attribute : Attribute.values()) {
+          assertEquals(expected.get(attribute), pattern.compare(attribute, target.get(attribute)),
+              source + " " + target + " " + attribute);
+        }
+        assertEquals(expected, pattern.compareAttributes(target).toMap());
+        assertEquals(CPENameMatcher.isDisjoint(source, target), pattern.isDisjoint(target));
+        if (pattern.getSignature().provesDisjoint(CpeSignature.of(target))) {
+          assertTrue(CPENameMatcher.isDisjoint(source, target), source + " " + target);
+        }
+        assertEquals(CPENameMatcher.isEqual(source, target), pattern.isEqual(target));
+        assertEquals(CPENameMatcher.isSubset(source, target), pattern.isSubset(target));
+        assertEquals(CPENameMatcher.isSuperset(source, target), pattern.isSuperset(target));
+      }
+    }
+  }
+
+  @Test
+  void testRelationTo() throws ParseException {
+    WellFormedName ie = CPENameUnbinder.unbindFS("cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*");
+    WellFormedName pattern = CPENameUnbinder.unbindFS("cpe:2.3:a:microsoft:*:*:beta:*:*:*:*:*:*");
+    WellFormedName adobe = CPENameUnbinder.unbindFS("cpe:2.3:a:adobe:reader:9.3.2:-:-:*:*:*:*:*");
+    WellFormedName wildcard = CPENameUnbinder.unbindFS("cpe:2.3:a:microsoft:internet_explore?:*:*:*:*:*:*:*:*");
+
+    assertEquals(Relation.SUPERSET, new CompiledCpePattern(pattern).relationTo(ie));
+    assertEquals(Relation.SUBSET, new CompiledCpePattern(ie).relationTo(pattern));
+    assertEquals(Relation.EQUAL, new CompiledCpePattern(ie).relationTo(ie));
+    assertEquals(Relation.DISJOINT, new CompiledCpePattern(pattern).relationTo(adobe));
+    // a target containing unquoted wildcards yields an undefined result
+    assertEquals(Relation.UNDEFINED, new CompiledCpePattern(pattern).relationTo(wildcard));
+    // the vendors differ, which is detected from the signatures alone
+    assertTrue(CpeSignature.of(ie).provesDisjoint(CpeSignature.of(adobe)));
+    assertEquals(Relation.DISJOINT, new CompiledCpePattern(ie).relationTo(adobe, CpeSignature.of(adobe)));
+  }
+
+  @Test
+  void testSignatureIgnoresDefaultLocale() throws ParseException {
+    Locale locale = Locale.getDefault();
+    // the Turkish locale lowercases "I" to a dotless "\u0131"
+    Locale.setDefault(new Locale("tr", "TR"));
+    try {
+      WellFormedName upper = CPENameUnbinder.unbindFS("cpe:2.3:a:IBM:DIRECTOR:*:*:*:*:*:*:*:*");
+      WellFormedName lower = CPENameUnbinder.unbindFS("cpe:2.3:a:ibm:director:*:*:*:*:*:*:*:*");
+      assertTrue(CPENameMatcher.isEqual(upper, lower));
+      assertFalse(CpeSignature.of(upper).provesDisjoint(CpeSignature.of(lower)));
+      assertEquals(Relation.EQUAL, new CompiledCpePattern(upper).relationTo(lower, CpeSignature.of(lower)));
+    } finally {
+      Locale.setDefault(locale);
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.cpe.common.AttributeStates;
+import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+import gov.nist.secauto.cpe.naming.CPENameBinder;
+import gov.nist.secauto.cpe.naming.CPENameUnbinder;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+
+class CpeColumnStoreTest {
+  private static final String[] NAMES = { "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*",
+      "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:-:*:*:*:*:*:*",
+      "cpe:2.3:a:hp:insight_diagnostics:7.4.0.1570:-:*:*:online:win2003:x64:*",
+      "cpe:2.3:a:foo\\$bar:insight:-:*:*:*:*:*:*:*" };
+
+  @Test
+  void testRows() throws ParseException {
+    // start small so the columns are grown
+    CpeColumnStore store = new CpeColumnStore(1);
+    for (String name : NAMES) {
+      store.add(CPENameUnbinder.unbindFS(name));
+    }
+    assertEquals(NAMES.length, store.size());
+    // each distinct value is stored once
+    assertEquals(13, store.getValueCount());
+
+    for (int row = 0; row < NAMES.length; row++) {
+      WellFormedName wfn = CPENameUnbinder.unbindFS(NAMES[row]);
+      CpeColumnStore.Row view = store.getRow(row);
+      assertEquals(row, view.getRowNumber());
+      assertEquals(NAMES[row], CPENameBinder.bindToFS(view));
+      assertEquals(wfn.toCompact(), view.toCompact());
+      assertTrue(CPENameMatcher.isEqual(wfn, view));
+      // the states are stored with the row, and agree with its values
+      assertEquals(wfn.getAttributeStates(), view.getAttributeStates());
+      assertEquals(AttributeStates.of(view), view.getAttributeStates());
+    }
+    assertSame(LogicalValue.NA, store.get(1, Attribute.UPDATE));
+    assertEquals(CpeColumnStore.NA_ID, store.getValueId(1, Attribute.UPDATE));
+    assertEquals(CpeColumnStore.ANY_ID, store.getValueId(1, Attribute.OTHER));
+    assertEquals(store.getValueId(0, Attribute.VENDOR), store.getValueId(1, Attribute.VENDOR));
+    assertThrows(IndexOutOfBoundsException.class, () -> store.getRow(NAMES.length));
+  }
+
+  @Test
+  void testGrownCapacity() {
+    assertEquals(1024, CpeColumnStore.grownCapacity(0));
+    assertEquals(3000, CpeColumnStore.grownCapacity(2000));
+    // growth is limited instead of overflowing
+    assertEquals(CpeColumnStore.MAXIMUM_CAPACITY, CpeColumnStore.grownCapacity(CpeColumnStore.MAXIMUM_CAPACITY - 1));
+    assertThrows(IllegalStateException.class, () -> CpeColumnStore.grownCapacity(CpeColumnStore.MAXIMUM_CAPACITY));
+    assertThrows(IllegalArgumentException.class, () -> new CpeColumnStore(Integer.MAX_VALUE));
+  }
+
+  @Test
+  void testMatch() throws ParseException {
+    CpeColumnStore store = new CpeColumnStore();
+    for (String name : NAMES) {
+      store.add(CPENameUnbinder.unbindFS(name));
+    }
+    CompiledCpePattern pattern
+        = new CompiledCpePattern(CPENameUnbinder.unbindFS("cpe:2.3:a:microsoft:*:*:*:*:*:*:*:*:*"));
+    int matches = 0;
+    for (int row = 0; row < store.size(); row++) {
+      if (pattern.isSuperset(store.getRow(row))) {
+        matches++;
+      }
+    }
+    assertEquals(2, matches);
+  }
+}
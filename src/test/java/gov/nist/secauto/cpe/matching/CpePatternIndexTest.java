@@ -0,0 +1,79 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.matching;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.naming.CPENameUnbinder;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+class CpePatternIndexTest {
+  private static final String[] PATTERNS = { "cpe:2.3:a:microsoft:internet_explorer:*:*:*:*:*:*:*:*",
+      "cpe:2.3:a:microsoft:internet*:*:*:*:*:*:*:*:*", "cpe:2.3:a:microsoft:*explorer:8.*:*:*:*:*:*:*:*",
+      "cpe:2.3:a:*:*:9.3.2:-:*:*:*:*:*:*", "cpe:2.3:o:microsoft:windows_10:-:*:*:*:*:*:*:*",
+      "cpe:2.3:a:hp:insight:*:*:*:*:*:*:*:*", "cpe:2.3:a:hp:\\\\insight:*:*:*:*:*:*:*:*",
+      "cpe:2.3:a:foo\\$bar:?nsight:-:*:*:*:*:*:*:*", "cpe:2.3:h:*:*:*:*:*:*:*:*:*:*",
+      "cpe:2.3:a:-:-:*:*:*:*:*:*:*:*", "cpe:2.3:a:adobe:reader??:*:*:*:*:*:*:*:*" };
+
+  private static final String[] TARGETS = { "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*",
+      "cpe:2.3:a:Microsoft:Internet_Explorer:9.0:*:*:*:*:*:*:*", "cpe:2.3:a:microsoft:internet:1.0:*:*:*:*:*:*:*",
+      "cpe:2.3:a:adobe:reader:9.3.2:-:-:*:*:*:*:*", "cpe:2.3:a:adobe:reader10:9.3.2:-:*:*:*:*:*:*",
+      "cpe:2.3:o:microsoft:windows_10:-:*:*:*:*:*:x64:*", "cpe:2.3:a:hp:insight:7.4.0.1570:-:*:*:online:win2003:x64:*",
+      "cpe:2.3:a:hp:\\\\insight:7.4.0.1570:*:*:*:*:*:*:*", "cpe:2.3:a:foo\\$bar:insight:-:*:*:*:*:*:*:*",
+      "cpe:2.3:a:-:-:1.0:*:*:*:*:*:*:*", "cpe:2.3:h:cisco:*:*:*:*:*:*:*:*:*" };
+
+  @Test
+  void testMatchSameAsLinearScan() throws ParseException {
+    CpePatternIndex index = new CpePatternIndex();
+    List<WellFormedName> patterns = new ArrayList<>();
+    for (String pattern : PATTERNS) {
+      WellFormedName wfn = CPENameUnbinder.unbindFS(pattern);
+      patterns.add(wfn);
+      index.add(wfn);
+    }
+
+    for (String target : TARGETS) {
+      WellFormedName wfn = CPENameUnbinder.unbindFS(target);
+      List<Integer> expected = new ArrayList<>();
+      for (int id = 0; id < patterns.size(); id++) {
+        if (CPENameMatcher.isSuperset(patterns.get(id), wfn)) {
+          expected.add(id);
+        }
+      }
+      int[] matches = index.match(wfn);
+      assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), matches, target);
+      assertTrue(index.candidates(wfn).length < patterns.size(), target);
+    }
+  }
+}
@@ -27,6 +27,7 @@
 package gov.nist.secauto.cpe.naming;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import gov.nist.secauto.cpe.common.LogicalValue;
 import gov.nist.secauto.cpe.common.WellFormedName;
@@ -56,4 +57,23 @@ class CPENameBinderTest {
     assertEquals("cpe:2.3:a:foo\\$bar:insight:7.4.0.1570:-:*:*:online:win2003:x64:*", CPENameBinder.bindToFS(wfn2));
   }
 
+  @Test
+  void testWellFormedNameOverloads() throws NoSuchMethodException {
+    // code compiled against earlier releases links to the WellFormedName signatures
+    assertNotNull(CPENameBinder.class.getMethod("bindToURI", WellFormedName.class));
+    assertNotNull(CPENameBinder.class.getMethod("bindToFS", WellFormedName.class));
+  }
+
+  @Test
+  void testBindToURIPercentEncoding() throws ParseException {
+    WellFormedName wfn = new WellFormedName("a", "foo\\$bar", "c\\+\\+builder", "1\\.0", "?", "*beta", null, null,
+        "win\\~2003", "x64", null);
+    // packs the extended attributes; the tilde encodes as %7d, as in the reference implementation
+    assertEquals("cpe:/a:foo%24bar:c%2b%2bbuilder:1.0:%01:~%02beta~~win%7d2003~x64~",
+        CPENameBinder.bindToURI(wfn));
+
+    wfn = new WellFormedName("a", "foo\\$bar", "c\\+\\+builder", null, null, null, null, null, null, null, null);
+    // trailing blank components are trimmed
+    assertEquals("cpe:/a:foo%24bar:c%2b%2bbuilder", CPENameBinder.bindToURI(wfn));
+  }
 }
@@ -27,13 +27,24 @@
 package gov.nist.secauto.cpe.naming;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import gov.nist.secauto.cpe.common.AsciiCharSequence;
 import gov.nist.secauto.cpe.common.LogicalValue;
+import gov.nist.secauto.cpe.common.ParseError;
+import gov.nist.secauto.cpe.common.ParseResult;
+import gov.nist.secauto.cpe.common.ValueInterner;
 import gov.nist.secauto.cpe.common.WellFormedName;
 import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
 
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 
 class CPENameUnbinderTest {
@@ -107,4 +118,120 @@ class CPENameUnbinderTest {
     assertEquals(LogicalValue.ANY, wfn.get(Attribute.OTHER));
   }
 
+  @Test
+  void testInterner() throws ParseException {
+    ValueInterner interner = new ValueInterner();
+    WellFormedName first
+        = CPENameUnbinder.unbindFS("cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*", interner);
+    WellFormedName second = CPENameUnbinder.unbindURI("cpe:/a:microsoft:internet_explorer:8.0.6001:sp1", interner);
+    WellFormedName third
+        = CPENameUnbinder.unbindURI("cpe:/a:microsoft:internet_explorer:8.0.6001::~~~win2003~x64~", interner);
+
+    // interning does not change the unbound values
+    assertEquals(CPENameUnbinder.unbindURI("cpe:/a:microsoft:internet_explorer:8.0.6001:sp1").toString(),
+        second.toString());
+
+    for (Attribute attribute : new Attribute[] { Attribute.PART, Attribute.VENDOR, Attribute.PRODUCT,
+        Attribute.VERSION }) {
+      assertSame(first.get(attribute), second.get(attribute));
+      assertSame(first.get(attribute), third.get(attribute));
+    }
+    assertEquals("win2003", third.get(Attribute.TARGET_SW));
+    assertSame(third.get(Attribute.TARGET_SW), interner.intern(new String("win2003")));
+  }
+
+  @Test
+  void testUnbindFSQuoting() throws ParseException {
+    WellFormedName wfn
+        = CPENameUnbinder.unbindFS("cpe:2.3:a:hp:insight_diagnostics:7.4.0.1570:-:*:*:online:win2003\\:x64:*:*");
+    assertEquals("insight_diagnostics", wfn.get(Attribute.PRODUCT));
+    assertEquals("7\\.4\\.0\\.1570", wfn.get(Attribute.VERSION));
+    assertEquals(LogicalValue.NA, wfn.get(Attribute.UPDATE));
+    assertEquals("win2003\\:x64", wfn.get(Attribute.TARGET_SW));
+    assertEquals(LogicalValue.ANY, wfn.get(Attribute.OTHER));
+
+    wfn = CPENameUnbinder.unbindFS("cpe:2.3:a:foo??:?bar*:*:*:*:*:*:*:*:*");
+    assertEquals("foo??", wfn.get(Attribute.VENDOR));
+    assertEquals("?bar*", wfn.get(Attribute.PRODUCT));
+
+    assertThrows(ParseException.class, () -> CPENameUnbinder.unbindFS("cpe:2.3:a:foo:b*ar:*:*:*:*:*:*:*:*"));
+    assertThrows(ParseException.class, () -> CPENameUnbinder.unbindFS("cpe:2.3:a:foo:bar:*:*:*:*:*:*:*:*\\"));
+  }
+
+  @Test
+  void testUnbindFSCharSequence() throws ParseException {
+    String first = "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*";
+    String second = "cpe:2.3:a:hp:insight_diagnostics:7.4.0.1570:-:*:*:online:win2003:x64:*";
+    ByteBuffer buffer = ByteBuffer.wrap((first + "\n" + second + "\n").getBytes(StandardCharsets.US_ASCII));
+
+    WellFormedName wfn = CPENameUnbinder.unbindFS(new AsciiCharSequence(buffer, 0, first.length()));
+    assertEquals(CPENameUnbinder.unbindFS(first).toString(), wfn.toString());
+    wfn = CPENameUnbinder.unbindFS(new AsciiCharSequence(buffer, first.length() + 1, second.length()));
+    assertEquals(CPENameUnbinder.unbindFS(second).toString(), wfn.toString());
+
+    // non-ASCII bytes are not printable
+    buffer.put(10, (byte) 0xE9);
+    assertThrows(ParseException.class,
+        () -> CPENameUnbinder.unbindFS(new AsciiCharSequence(buffer, 0, first.length())));
+  }
+
+  @Test
+  void testUnbindURICharSequence() throws ParseException {
+    String uri = "CPE:/A:HP:Insight_Diagnostics:7.4.0.1570:%02Beta:~~ONLINE~win2003~X64~";
+    ByteBuffer buffer = ByteBuffer.wrap(uri.getBytes(StandardCharsets.US_ASCII));
+
+    WellFormedName wfn = CPENameUnbinder.unbindURI(new AsciiCharSequence(buffer, 0, uri.length()));
+    assertEquals(CPENameUnbinder.unbindURI(uri).toString(), wfn.toString());
+    // the URI is normalized to lowercase as it is decoded
+    assertEquals("insight_diagnostics", wfn.get(Attribute.PRODUCT));
+    assertEquals("*beta", wfn.get(Attribute.UPDATE));
+    assertEquals("online", wfn.get(Attribute.SW_EDITION));
+    assertEquals("x64", wfn.get(Attribute.TARGET_HW));
+  }
+
+  @Test
+  void testUnbindTrusted() throws ParseException {
+    String fs = "cpe:2.3:a:hp:insight_diagnostics:7.4.0.1570:-:*:*:online:win2003:x64:*";
+    assertEquals(CPENameUnbinder.unbindFS(fs).toString(), CPENameUnbinder.unbindTrustedFS(fs).toString());
+    String uri = "cpe:/a:foo%24bar:insight:7.4.0.1570:-:~~online~win2003~x64~";
+    assertEquals(CPENameUnbinder.unbindURI(uri).toString(), CPENameUnbinder.unbindTrustedURI(uri).toString());
+
+    // structural errors are still detected
+    assertThrows(ParseException.class, () -> CPENameUnbinder.unbindTrustedFS("cpe:2.3:a:hp:insight_diagnostics"));
+  }
+
+  @Test
+  void testTryUnbind() throws ParseException {
+    String fs = "cpe:2.3:a:hp:insight_diagnostics:7.4.0.1570:-:*:*:online:win2003:x64:*";
+    ParseResult result = CPENameUnbinder.tryUnbindFS(fs);
+    assertTrue(result.isSuccess());
+    assertEquals(-1, result.getOffset());
+    assertEquals(CPENameUnbinder.unbindFS(fs).toString(), result.getWellFormedName().toString());
+
+    // the error is located at the offending component
+    result = CPENameUnbinder.tryUnbindFS("cpe:2.3:a:hp:insight*diagnostics:*:*:*:*:*:*:*:*");
+    assertFalse(result.isSuccess());
+    assertNull(result.getWellFormedName());
+    assertEquals(ParseError.FS_EMBEDDED_ASTERISK, result.getError());
+    assertEquals(20, result.getOffset());
+
+    result = CPENameUnbinder.tryUnbindFS("cpe:2.3:a:hp:insight_diagnostics:*:*:*:*:*:*:*");
+    assertEquals(ParseError.FS_MISSING_COMPONENTS, result.getError());
+    assertEquals("Error parsing formatted string. Missing 1 component", result.getMessage());
+
+    result = CPENameUnbinder.tryUnbindURI("cpe:/a:microsoft:internet_explorer:8.0.6001:beta%02x");
+    assertEquals(ParseError.URI_MISPLACED_SPECIAL_CHARACTER, result.getError());
+    assertEquals(48, result.getOffset());
+
+    result = CPENameUnbinder.tryUnbindURI("cpe:/a:microsoft:internet_explorer:8.%zz");
+    assertEquals(ParseError.URI_UNKNOWN_FORM, result.getError());
+    assertEquals(37, result.getOffset());
+    assertEquals("%zz", result.getDetail());
+
+    // the throwing methods report the same message
+    ParseResult failure = result;
+    ParseException ex = assertThrows(ParseException.class,
+        () -> CPENameUnbinder.unbindURI("cpe:/a:microsoft:internet_explorer:8.%zz"));
+    assertEquals(failure.getMessage(), ex.getMessage());
+  }
 }
@@ -0,0 +1,104 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+
+class CPEFactoryTest {
+
+  @Test
+  void testNewLazyCPEName() throws ParseException {
+    String fs = "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*";
+    String uri = "cpe:/a:microsoft:internet_explorer:8.0.6001:beta";
+
+    CPEName lazyFs = CPEFactory.newLazyCPEName(fs);
+    assertTrue(lazyFs instanceof CPEFormattedStringName);
+    assertSame(fs, ((AbstractCPEName) lazyFs).getText());
+    CPEName lazyUri = CPEFactory.newLazyCPEName(uri);
+    assertTrue(lazyUri instanceof CPEUriName);
+
+    CPEName eager = CPEFactory.newCPEName(fs);
+    WellFormedName wfn = lazyFs.getWellFormedName();
+    assertEquals(eager.getWellFormedName().toString(), wfn.toString());
+    assertEquals(wfn.toString(), lazyUri.getWellFormedName().toString());
+    assertTrue(((AbstractCPEName) lazyFs).isImmutable());
+    assertSame(((AbstractCPEName) lazyFs).toCompact(), ((AbstractCPEName) lazyFs).toCompact());
+    // the view holds the values without copying them
+    assertSame(((AbstractCPEName) lazyFs).toCompact(), lazyFs.getWellFormedNameView());
+    assertSame(lazyFs.getWellFormedNameView(), lazyFs.getWellFormedNameView());
+
+    // bound forms are computed once
+    String boundUri = lazyFs.toUriString();
+    assertEquals(uri, boundUri);
+    assertSame(boundUri, lazyFs.toUriString());
+    assertSame(lazyFs.toUri(), lazyFs.toUri());
+    assertEquals(fs, lazyUri.toFormattedString());
+    assertEquals(uri, lazyUri.toString());
+
+    // the returned name is a copy, so changing it does not affect the immutable name
+    wfn.set(Attribute.VENDOR, "apple");
+    assertEquals("microsoft", lazyFs.getWellFormedName().get(Attribute.VENDOR));
+    assertEquals(uri, lazyFs.toUriString());
+
+    // malformed names fail when first unbound
+    CPEName malformed = CPEFactory.newLazyCPEName("cpe:2.3:a:microsoft");
+    IllegalStateException ex = assertThrows(IllegalStateException.class, malformed::getWellFormedName);
+    assertTrue(ex.getCause() instanceof ParseException);
+    assertThrows(IllegalStateException.class, malformed::toUriString);
+  }
+
+  @Test
+  void testMutableCPEName() throws ParseException {
+    CPEName name = CPEFactory.newCPEName("cpe:/a:microsoft:internet_explorer:8.0.6001:beta");
+    assertFalse(((AbstractCPEName) name).isImmutable());
+    WellFormedName wfn = name.getWellFormedName();
+    assertSame(wfn, name.getWellFormedName());
+    assertSame(wfn, name.getWellFormedNameView());
+    assertEquals("cpe:/a:microsoft:internet_explorer:8.0.6001:beta", name.toUriString());
+
+    // the bound forms follow changes to the name
+    wfn.set(Attribute.VENDOR, "apple");
+    assertEquals("cpe:/a:apple:internet_explorer:8.0.6001:beta", name.toUriString());
+    assertEquals("cpe:2.3:a:apple:internet_explorer:8.0.6001:beta:*:*:*:*:*:*", name.toFormattedString());
+    assertEquals("cpe:/a:apple:internet_explorer:8.0.6001:beta", name.toUri().toString());
+
+    // a name may hold no WellFormedName, as before
+    assertNull(new CPEUriName((WellFormedName) null).getWellFormedName());
+  }
+}
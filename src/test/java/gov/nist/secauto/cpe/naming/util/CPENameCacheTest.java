@@ -0,0 +1,100 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.ParseException;
+
+class CPENameCacheTest {
+
+  @Test
+  void testGet() throws ParseException {
+    CPENameCache cache = new CPENameCache(100);
+    String fs = "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*";
+    String uri = "cpe:/a:microsoft:internet_explorer:8.0.6001:beta";
+
+    CPEName first = CPEFactory.newCPEName(fs, cache);
+    assertSame(first, CPEFactory.newCPEName(fs, cache));
+    CPEName second = CPEFactory.newCPEName(uri, cache);
+    assertNotSame(first, second);
+    assertEquals(first.toUriString(), second.toString());
+    assertEquals(fs, first.toString());
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getHitCount());
+    assertEquals(2, cache.getMissCount());
+    assertEquals(0, cache.getEvictionCount());
+
+    // failures are not cached
+    assertThrows(ParseException.class, () -> cache.get("cpe:2.3:a:microsoft"));
+    assertEquals(2, cache.size());
+    assertEquals(3, cache.getMissCount());
+  }
+
+  @Test
+  void testImmutable() throws ParseException {
+    CPENameCache cache = new CPENameCache(100);
+    String fs = "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*";
+
+    CPEName name = cache.get(fs);
+    WellFormedName wfn = name.getWellFormedName();
+    wfn.set(Attribute.VENDOR, "other");
+
+    // changing the returned name does not affect the cached name
+    CPEName next = cache.get(fs);
+    assertSame(name, next);
+    // a hit reads the cached values without copying them
+    assertSame(name.getWellFormedNameView(), next.getWellFormedNameView());
+    assertEquals("microsoft", next.getWellFormedNameView().get(Attribute.VENDOR));
+    assertEquals("microsoft", next.getWellFormedName().get(Attribute.VENDOR));
+    assertEquals(fs, next.toString());
+    assertEquals(fs, next.toFormattedString());
+  }
+
+  @Test
+  void testEviction() throws ParseException {
+    CPENameCache cache = new CPENameCache(20);
+    for (int i = 0; i < 100; i++) {
+      cache.get("cpe:/a:vendor:product:" + i);
+    }
+    assertTrue(cache.size() <= 20);
+    assertEquals(100 - cache.size(), cache.getEvictionCount());
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+}
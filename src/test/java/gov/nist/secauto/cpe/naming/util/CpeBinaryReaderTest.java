@@ -0,0 +1,138 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.cpe.common.CompactWellFormedName;
+import gov.nist.secauto.cpe.common.WellFormedName;
+import gov.nist.secauto.cpe.naming.CPENameUnbinder;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class CpeBinaryReaderTest {
+  private static final String[] NAMES = { "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:beta:*:*:*:*:*:*",
+      "cpe:2.3:a:microsoft:internet_explorer:8.0.6001:-:*:*:*:*:*:*",
+      "cpe:2.3:a:hp:insight_diagnostics:7.4.0.1570:-:*:*:online:win2003:x64:*",
+      "cpe:2.3:a:foo\\$bar:insight:-:*:*:*:*:*:*:*" };
+
+  @Test
+  void testRoundTrip() throws IOException, ParseException {
+    List<WellFormedName> names = new ArrayList<>();
+    for (String name : NAMES) {
+      names.add(CPENameUnbinder.unbindFS(name));
+    }
+    byte[] bytes = write(names);
+
+    try (CpeBinaryReader reader = new CpeBinaryReader(new ByteArrayInputStream(bytes))) {
+      List<WellFormedName> result = reader.readAll();
+      assertEquals(names.size(), result.size());
+      for (int i = 0; i < names.size(); i++) {
+        assertEquals(names.get(i).toCompact(), result.get(i).toCompact());
+      }
+      assertNull(reader.read());
+    }
+
+    try (CpeBinaryReader reader = new CpeBinaryReader(new ByteArrayInputStream(bytes))) {
+      for (WellFormedName wfn : names) {
+        CompactWellFormedName compact = reader.readCompact();
+        assertEquals(wfn.toCompact(), compact);
+        assertEquals(wfn.getAttributeStates(), compact.getAttributeStates());
+      }
+      assertNull(reader.readCompact());
+    }
+  }
+
+  @Test
+  void testMalformed() throws IOException, ParseException {
+    byte[] bytes = write(Arrays.asList(CPENameUnbinder.unbindFS(NAMES[0])));
+
+    // truncated before the end marker
+    byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+    try (CpeBinaryReader reader = new CpeBinaryReader(new ByteArrayInputStream(truncated))) {
+      reader.read();
+      assertThrows(EOFException.class, () -> reader.read());
+    }
+
+    byte[] corrupt = bytes.clone();
+    corrupt[0] = 'X';
+    assertThrows(IOException.class, () -> new CpeBinaryReader(new ByteArrayInputStream(corrupt)));
+  }
+
+  @Test
+  void testInvalidValues() {
+    // a part that is not a, o or h
+    assertInvalid(stream(1, 2, 1, 'x'));
+    // a logical part value
+    assertInvalid(stream(1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0));
+    // a vendor containing whitespace
+    assertInvalid(stream(1, 2, 1, 'a', 2, 3, 'a', ' ', 'b'));
+    // a part referring to a string first added as a vendor
+    assertInvalid(stream(1, 2, 1, 'a', 2, 3, 'f', 'o', 'o', 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 4));
+    // a length larger than any valid value, which must not be allocated
+    assertInvalid(stream(1, 2, 0xFF, 0xFF, 0xFF, 0xFF, 0x07));
+  }
+
+  private static void assertInvalid(byte[] bytes) {
+    assertThrows(IOException.class, () -> {
+      try (CpeBinaryReader reader = new CpeBinaryReader(new ByteArrayInputStream(bytes))) {
+        reader.readAll();
+      }
+    });
+  }
+
+  private static byte[] stream(int... record) {
+    byte[] retval = new byte[CpeBinaryWriter.MAGIC.length + 1 + record.length];
+    System.arraycopy(CpeBinaryWriter.MAGIC, 0, retval, 0, CpeBinaryWriter.MAGIC.length);
+    retval[CpeBinaryWriter.MAGIC.length] = CpeBinaryWriter.VERSION;
+    for (int i = 0; i < record.length; i++) {
+      retval[CpeBinaryWriter.MAGIC.length + 1 + i] = (byte) record[i];
+    }
+    return retval;
+  }
+
+  private static byte[] write(List<WellFormedName> names) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (CpeBinaryWriter writer = new CpeBinaryWriter(out)) {
+      for (WellFormedName wfn : names) {
+        writer.write(wfn);
+      }
+    }
+    return out.toByteArray();
+  }
+}
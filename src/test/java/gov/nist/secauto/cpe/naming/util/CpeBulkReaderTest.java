@@ -0,0 +1,127 @@
+/**
+ * Portions of this software was developed by employees of the National Institute
+ * of Standards and Technology (NIST), an agency of the Federal Government and is
+ * being made available as a public service. Pursuant to title 17 United States
+ * Code Section 105, works of NIST employees are not subject to copyright
+ * protection in the United States. This software may be subject to foreign
+ * copyright. Permission in the United States and in foreign countries, to the
+ * extent that NIST may hold copyright, to use, copy, modify, create derivative
+ * works, and distribute this software and its documentation without fee is hereby
+ * granted on a non-exclusive basis, provided that this notice and disclaimer
+ * of warranty appears in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED 'AS IS' WITHOUT ANY WARRANTY OF ANY KIND, EITHER
+ * EXPRESSED, IMPLIED, OR STATUTORY, INCLUDING, BUT NOT LIMITED TO, ANY WARRANTY
+ * THAT THE SOFTWARE WILL CONFORM TO SPECIFICATIONS, ANY IMPLIED WARRANTIES OF
+ * MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE, AND FREEDOM FROM
+ * INFRINGEMENT, AND ANY WARRANTY THAT THE DOCUMENTATION WILL CONFORM TO THE
+ * SOFTWARE, OR ANY WARRANTY THAT THE SOFTWARE WILL BE ERROR FREE.  IN NO EVENT
+ * SHALL NIST BE LIABLE FOR ANY DAMAGES, INCLUDING, BUT NOT LIMITED TO, DIRECT,
+ * INDIRECT, SPECIAL OR CONSEQUENTIAL DAMAGES, ARISING OUT OF, RESULTING FROM,
+ * OR IN ANY WAY CONNECTED WITH THIS SOFTWARE, WHETHER OR NOT BASED UPON WARRANTY,
+ * CONTRACT, TORT, OR OTHERWISE, WHETHER OR NOT INJURY WAS SUSTAINED BY PERSONS OR
+ * PROPERTY OR OTHERWISE, AND WHETHER OR NOT LOSS WAS SUSTAINED FROM, OR AROSE OUT
+ * OF THE RESULTS OF, OR USE OF, THE SOFTWARE OR SERVICES PROVIDED HEREUNDER.
+ */
+
+package gov.nist.secauto.cpe.naming.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import gov.nist.secauto.cpe.common.ParseError;
+import gov.nist.secauto.cpe.common.WellFormedName.Attribute;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class CpeBulkReaderTest {
+
+  private static InputStream newInput(List<String> lines) {
+    return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<String> newLines() {
+    List<String> retval = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      if (i % 50 == 7) {
+        retval.add("cpe:2.3:a:malformed");
+      } else if (i % 50 == 8) {
+        retval.add("   ");
+      } else if (i % 2 == 0) {
+        retval.add("cpe:2.3:a:vendor" + i + ":product:" + i + ":*:*:*:*:*:*:*");
+      } else {
+        retval.add("cpe:/a:vendor" + i + ":product:" + i);
+      }
+    }
+    return retval;
+  }
+
+  @Test
+  void testRead() throws IOException {
+    List<String> lines = newLines();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      CpeBulkReader reader = new CpeBulkReader(executor, 16);
+      List<CPEName> names = new ArrayList<>();
+      List<Long> malformed = new ArrayList<>();
+      reader.read(newInput(lines), names::addAll, (lineNumber, line, result) -> {
+        assertEquals(ParseError.FS_MISSING_COMPONENTS, result.getError());
+        malformed.add(lineNumber);
+      });
+
+      assertEquals(480, names.size());
+      assertEquals(10, malformed.size());
+      assertEquals(8L, (long) malformed.get(0));
+      int index = 0;
+      for (int i = 0; i < lines.size(); i++) {
+        if (i % 50 != 7 && i % 50 != 8) {
+          assertEquals("vendor" + i, names.get(index++).getWellFormedName().get(Attribute.VENDOR));
+        }
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testStream() {
+    List<String> lines = newLines();
+    List<String> malformed = new ArrayList<>();
+    List<String> expected = new ArrayList<>();
+    for (String line : lines) {
+      if (!line.trim().isEmpty() && !line.equals("cpe:2.3:a:malformed")) {
+        expected.add(line);
+      }
+    }
+    try (Stream<CPEName> names = new CpeBulkReader().stream(newInput(lines), (lineNumber, line, result) -> {
+      malformed.add(line);
+    })) {
+      assertEquals(expected, names.map(CPEName::toString).collect(Collectors.toList()));
+    }
+    assertEquals(10, malformed.size());
+  }
+
+  @Test
+  void testConsumerExceptionNotUnwrapped() {
+    UncheckedIOException thrown = new UncheckedIOException(new IOException("consumer"));
+    UncheckedIOException ex = assertThrows(UncheckedIOException.class,
+        () -> new CpeBulkReader().read(newInput(newLines()), batch -> {
+          throw thrown;
+        }, (lineNumber, line, result) -> {
+        }));
+    assertSame(thrown, ex);
+  }
+}